@@ -0,0 +1,69 @@
+package com.university.cms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.university.cms.CmsApplication;
+
+/**
+ * Boots the cms application context (no web server) against a private in-memory H2 database
+ * and seeds it with plain JDBC batches.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(CmsApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run( // arguments, so they win over the cms application.yml
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=WARN");
+    }
+
+    static List<Long> seedUsers(JdbcTemplate jdbc, String prefix, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {prefix + i + "@uni.test", prefix + i, "pw", false});
+        }
+        jdbc.batchUpdate("insert into users (email, username, password, is_admin) values (?, ?, ?, ?)", rows);
+        return jdbc.queryForList("select id from users where username like ? order by id", Long.class, prefix + "%");
+    }
+
+    static List<Long> seedCourses(JdbcTemplate jdbc, String prefix, int count, int capacity) {
+        String[] subjects = {"Algorithms", "Databases", "Networks", "Compilers", "Statistics",
+                "Linear Algebra", "Operating Systems", "Machine Learning", "Ethics", "Thermodynamics"};
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String subject = subjects[i % subjects.length];
+            rows.add(new Object[] {prefix + i, subject + " " + (i % 7 + 1),
+                    "An introduction to " + subject.toLowerCase() + ", section " + i, 3, capacity, true, 0});
+        }
+        jdbc.batchUpdate("insert into courses (code, title, description, credits, capacity, active, enrolled) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", rows);
+        return jdbc.queryForList("select id from courses where code like ? order by id", Long.class, prefix + "%");
+    }
+
+    /** Enroll every student in the course and grade every other enrollment. */
+    static void seedRoster(JdbcTemplate jdbc, Long courseId, List<Long> studentIds) {
+        List<Object[]> rows = new ArrayList<>(studentIds.size());
+        for (Long studentId : studentIds) {
+            rows.add(new Object[] {studentId, courseId});
+        }
+        jdbc.batchUpdate("insert into enrollments (student_id, course_id, enrolled_at) values (?, ?, current_timestamp)", rows);
+        jdbc.update("insert into results (enrollment_id, grade, marks) "
+                + "select id, 'B+', 78.50 from enrollments where course_id = ? and mod(id, 2) = 0", courseId);
+        jdbc.update("update courses set enrolled = ? where id = ?", studentIds.size(), courseId);
+    }
+}
@@ -0,0 +1,64 @@
+package com.university.cms.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files (baseline, candidate) and exits with status 1 if any
+ * benchmark got worse than the threshold.
+ *
+ * <pre>java -cp target/benchmarks.jar com.university.cms.benchmarks.BenchmarkDiff base.json new.json [10]</pre>
+ */
+public final class BenchmarkDiff {
+
+    private BenchmarkDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkDiff <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW         %s%n", entry.getKey());
+                continue;
+            }
+            double old = before.path("primaryMetric").path("score").asDouble();
+            double now = entry.getValue().path("primaryMetric").path("score").asDouble();
+            // throughput: higher is better; every other JMH mode measures time: lower is better
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = old == 0 ? 0 : (now - old) / old * 100;
+            double worse = higherIsBetter ? -change : change;
+            boolean regressed = worse > threshold;
+            regressions += regressed ? 1 : 0;
+            System.out.printf("%-11s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                    regressed ? "REGRESSION" : "ok", entry.getKey(), old, now,
+                    entry.getValue().path("primaryMetric").path("scoreUnit").asText(), change);
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            for (Map.Entry<String, JsonNode> param : run.path("params").properties()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+}
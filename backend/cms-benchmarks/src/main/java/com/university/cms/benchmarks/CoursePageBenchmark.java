@@ -0,0 +1,91 @@
+package com.university.cms.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.dto.KeysetPage;
+import com.university.cms.entities.Course;
+import com.university.cms.services.CourseService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * One {@code GET /api/courses?size=N} response body, query to bytes: the former entity page
+ * (managed {@code Course}s, default bean serializer) against {@code CourseView} projections
+ * written by the pre-registered serializers. Run with {@code -prof gc} for bytes per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoursePageBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("pages" + size);
+        BenchmarkContext.seedCourses(context.getBean(JdbcTemplate.class), "P", size * 2, 100);
+        courseService = context.getBean(CourseService.class);
+        entityManager = context.getBean(EntityManager.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entityPage() {
+        KeysetPage<Course> page = readOnly.execute(status -> KeysetPage.of(entityManager
+                .createQuery("select c from Course c where c.id > :afterId order by c.id", Course.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(size + 1)
+                .getResultList(), size, Course::getId));
+        return write(page);
+    }
+
+    @Benchmark
+    public byte[] viewPage() {
+        return write(courseService.listCourses(null, size));
+    }
+
+    private byte[] write(KeysetPage<?> page) {
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.university.cms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.SearchPage;
+import com.university.cms.entities.Course;
+import com.university.cms.repositories.CourseRepository;
+import com.university.cms.services.CourseSearchIndex;
+
+/** CourseRepository.search (LIKE scan) against the in-memory CourseSearchIndex. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseSearchBenchmark {
+
+    @Param({"20000"})
+    private int courses;
+
+    @Param({"alg", "cs12", "machine learn"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private CourseRepository courseRepository;
+    private CourseSearchIndex searchIndex;
+    private final PageRequest firstPage = PageRequest.of(0, 20);
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("search");
+        BenchmarkContext.seedCourses(context.getBean(JdbcTemplate.class), "CS", courses, 100);
+        courseRepository = context.getBean(CourseRepository.class);
+        searchIndex = context.getBean(CourseSearchIndex.class);
+        searchIndex.rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Course> jpqlLike() {
+        return courseRepository.search(query, firstPage);
+    }
+
+    @Benchmark
+    public SearchPage<CourseView> searchIndex() {
+        return searchIndex.search(query, 0, 20);
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.cms.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.services.EnrollmentService;
+
+/**
+ * enrollStudent + dropEnrollment from 8 threads against 3 courses, so every operation fights
+ * over the same seat counters. Each thread owns its own block of students to avoid duplicates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class EnrollContentionBenchmark {
+
+    private static final int STUDENTS_PER_THREAD = 500;
+
+    @State(Scope.Benchmark)
+    public static class University {
+        ConfigurableApplicationContext context;
+        EnrollmentService enrollmentService;
+        List<Long> students;
+        List<Long> courses;
+        final AtomicInteger nextBlock = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            context = BenchmarkContext.start("contention");
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            students = BenchmarkContext.seedUsers(jdbc, "busy", STUDENTS_PER_THREAD * 64);
+            courses = BenchmarkContext.seedCourses(jdbc, "HOT", 3, students.size());
+            enrollmentService = context.getBean(EnrollmentService.class);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Student {
+        int first;
+        int next;
+
+        @Setup(Level.Trial)
+        public void claimBlock(University university) {
+            first = university.nextBlock.getAndIncrement() * STUDENTS_PER_THREAD;
+        }
+
+        Long pick(List<Long> students) {
+            return students.get(first + (next++ % STUDENTS_PER_THREAD));
+        }
+    }
+
+    @Benchmark
+    public void enrollAndDrop(University university, Student student, Blackhole bh) {
+        Long courseId = university.courses.get(student.next % university.courses.size());
+        EnrollmentDto dto = university.enrollmentService.enrollStudent(student.pick(university.students), courseId);
+        university.enrollmentService.dropEnrollment(dto.id());
+        bh.consume(dto);
+    }
+}
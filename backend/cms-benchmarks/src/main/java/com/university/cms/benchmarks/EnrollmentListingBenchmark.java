@@ -0,0 +1,82 @@
+package com.university.cms.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.services.EnrollmentService;
+import com.university.cms.services.StudentEnrollmentCache;
+
+/**
+ * Enrollment rows to EnrollmentDto (the old toDto mapping, now a single projection query) for a course
+ * roster and a student; {@code studentEnrollments} evicts the student first, {@code studentEnrollmentsCached}
+ * is the cache hit a repeated tab refresh gets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentListingBenchmark {
+
+    @Param({"50", "500"})
+    private int rosterSize;
+
+    private ConfigurableApplicationContext context;
+    private EnrollmentService enrollmentService;
+    private StudentEnrollmentCache studentEnrollmentCache;
+    private Long courseId;
+    private Long studentId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("listing" + rosterSize);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Long> students = BenchmarkContext.seedUsers(jdbc, "roster", rosterSize);
+        List<Long> courses = BenchmarkContext.seedCourses(jdbc, "R", 10, rosterSize);
+        for (Long course : courses) {
+            BenchmarkContext.seedRoster(jdbc, course, students);
+        }
+        courseId = courses.get(0);
+        studentId = students.get(0);
+        enrollmentService = context.getBean(EnrollmentService.class);
+        studentEnrollmentCache = context.getBean(StudentEnrollmentCache.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EnrollmentDto> courseRoster() {
+        return enrollmentService.getEnrollmentsByCourse(courseId);
+    }
+
+    @Benchmark
+    public List<EnrollmentDto> studentEnrollments() {
+        studentEnrollmentCache.evictAfterCommit(studentId);
+        return enrollmentService.getEnrollmentsByStudent(studentId);
+    }
+
+    @Benchmark
+    public List<EnrollmentDto> studentEnrollmentsCached() {
+        return enrollmentService.getEnrollmentsByStudent(studentId);
+    }
+}
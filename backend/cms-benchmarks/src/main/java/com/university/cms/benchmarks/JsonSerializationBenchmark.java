@@ -0,0 +1,93 @@
+package com.university.cms.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.university.cms.config.ResponseSerializers;
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.entities.Course;
+
+/**
+ * Jackson serialization of the two biggest response bodies: enrollment rosters and the course catalog,
+ * with the default bean serializers (and, for courses, the entity) against {@link ResponseSerializers}.
+ * Run with {@code -prof gc} for bytes allocated per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper slimMapper;
+    private List<EnrollmentDto> enrollments;
+    private List<Course> courses;
+    private List<CourseView> courseViews;
+
+    @Setup
+    public void setUp() {
+        // same setup Boot applies from application.yml
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        slimMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(ResponseSerializers.module())
+                .build();
+        enrollments = new ArrayList<>(rows);
+        courses = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            enrollments.add(new EnrollmentDto((long) i, 1000L + i, "student" + i, 7L, "CS101", "Data Structures",
+                    now, i % 2 == 0 ? "A-" : null, i % 2 == 0 ? 88.5 : null));
+            courses.add(Course.builder().id((long) i).code("CS" + i).title("Course " + i)
+                    .description("A fairly long course description for course " + i + " that students read.")
+                    .credits(3).capacity(120).active(true).build());
+        }
+        courseViews = courses.stream().map(CourseView::of).toList();
+    }
+
+    @Benchmark
+    public byte[] enrollmentDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(enrollments);
+    }
+
+    @Benchmark
+    public byte[] enrollmentDtosPreRegistered() throws JsonProcessingException {
+        return slimMapper.writeValueAsBytes(enrollments);
+    }
+
+    @Benchmark
+    public byte[] courseEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] courseViews() throws JsonProcessingException {
+        return slimMapper.writeValueAsBytes(courseViews);
+    }
+}
@@ -0,0 +1,64 @@
+package com.university.cms.benchmarks;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Per-endpoint latency samples from many client threads; reports throughput, p50 and p99. */
+final class LatencyRecorder {
+
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    private static final class Series {
+        final LongAdder count = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        long[] samples = new long[1 << 14];
+        int size;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length && size < MAX_SAMPLES) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            if (size < samples.length) {
+                samples[size++] = nanos;
+            }
+        }
+    }
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        Series s = series.computeIfAbsent(endpoint, k -> new Series());
+        s.count.increment();
+        if (!ok) {
+            s.failures.increment();
+        }
+        s.add(nanos);
+    }
+
+    String report(long elapsedNanos) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-42s %9s %9s %10s %9s %9s%n", "endpoint", "requests", "non-2xx", "req/s", "p50 ms", "p99 ms"));
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            Series s = entry.getValue();
+            long[] sorted;
+            synchronized (s) {
+                sorted = Arrays.copyOf(s.samples, s.size);
+            }
+            Arrays.sort(sorted);
+            out.append(String.format("%-42s %9d %9d %10.1f %9.2f %9.2f%n",
+                    entry.getKey(), s.count.sum(), s.failures.sum(), s.count.sum() / (elapsedNanos / 1e9),
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6));
+        }
+        return out.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
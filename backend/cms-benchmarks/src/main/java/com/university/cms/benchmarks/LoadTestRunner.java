@@ -0,0 +1,220 @@
+package com.university.cms.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.university.cms.CmsApplication;
+
+/**
+ * End-to-end load test: generates a university, then replays mixed student/admin traffic
+ * against {@code /api/**} and prints throughput and p50/p99 per endpoint.
+ *
+ * Without {@code --target} the application is started in-process on a random port with an
+ * in-memory H2 database (MySQL mode) as the stand-in; the data is generated once the schema
+ * exists and before the startup repairs and loads run, so every in-memory view (search index,
+ * seat counters, waitlists, standings) starts from it as it would on a production restart.
+ * With {@code --target=http://host:8080} the running instance is used and data is generated
+ * through {@code --jdbc-url}; restart that instance afterwards so its views load the new data.
+ *
+ * <pre>mvn -pl cms-benchmarks -am -Ploadtest verify -Dloadtest.args="--users=20000 --duration=60s"</pre>
+ */
+public final class LoadTestRunner {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final UniversityDataGenerator.Generated data;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final ConcurrentLinkedQueue<Long> droppable = new ConcurrentLinkedQueue<>();
+
+    private LoadTestRunner(String baseUrl, UniversityDataGenerator.Generated data) {
+        this.baseUrl = baseUrl;
+        this.data = data;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> args = parseArgs(argv);
+        UniversityDataGenerator.Config config = UniversityDataGenerator.Config.from(withDefaults(args));
+        Duration duration = Duration.parse("PT" + args.getOrDefault("duration", "60s").toUpperCase());
+        int clients = Integer.parseInt(args.getOrDefault("clients", "64"));
+
+        ConfigurableApplicationContext app = null;
+        String target = args.get("target");
+        UniversityDataGenerator.Generated data;
+        if (target == null) {
+            GenerateOnStart generator = new GenerateOnStart(config);
+            app = new SpringApplicationBuilder(CmsApplication.class)
+                    .logStartupInfo(false)
+                    .listeners(generator)
+                    .run( // arguments, so they win over the cms application.yml
+                            "--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.hibernate.ddl-auto=create-drop",
+                            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                            "--cms.admission.enabled=false", // every client is the same anonymous address
+                            "--cms.transcripts.rebuild-on-startup=true", // the generator writes results, not standings
+                            "--logging.level.root=WARN");
+            target = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            data = generator.data;
+        } else {
+            data = generate(new DriverManagerDataSource(args.getOrDefault("jdbc-url", "jdbc:mysql://localhost:3306/uni_cms"),
+                    args.getOrDefault("user", "unicms"), args.getOrDefault("password", "unicms_pw")), config);
+        }
+
+        try {
+            new LoadTestRunner(target, data).run(clients, duration);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static UniversityDataGenerator.Generated generate(DataSource dataSource, UniversityDataGenerator.Config config) {
+        long start = System.nanoTime();
+        UniversityDataGenerator.Generated data = new UniversityDataGenerator(dataSource).generate(config);
+        System.out.printf("generated %d users, %d courses, %d enrollments in %.1f s%n",
+                data.studentIds().length, data.courseIds().length, data.enrollmentIds().length,
+                (System.nanoTime() - start) / 1e9);
+        return data;
+    }
+
+    /**
+     * Generates the data when the context has started: Hibernate has created the schema, and the
+     * {@code ApplicationReadyEvent} listeners that load from it have not run yet.
+     */
+    private static final class GenerateOnStart implements ApplicationListener<ApplicationStartedEvent> {
+
+        private final UniversityDataGenerator.Config config;
+        private UniversityDataGenerator.Generated data;
+
+        GenerateOnStart(UniversityDataGenerator.Config config) {
+            this.config = config;
+        }
+
+        @Override
+        public void onApplicationEvent(ApplicationStartedEvent event) {
+            data = generate(event.getApplicationContext().getBean(DataSource.class), config);
+        }
+    }
+
+    private void run(int clients, Duration duration) throws InterruptedException {
+        System.out.printf("replaying mixed traffic against %s with %d clients for %s%n", baseUrl, clients, duration);
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            long seed = c;
+            pool.execute(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                while (System.nanoTime() < deadline) {
+                    step(random);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        System.out.print(recorder.report(System.nanoTime() - start));
+    }
+
+    /** One user action; the mix approximates a registration-week day. */
+    private void step(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        long student = pick(data.studentIds(), random);
+        if (roll < 40) {
+            send("GET /api/courses", get("/api/courses"));
+        } else if (roll < 50) {
+            send("GET /api/courses/search", get("/api/courses/search?q=" + (random.nextBoolean() ? "alg" : "data")));
+        } else if (roll < 70) {
+            send("GET /api/enrollments/student/{id}", get("/api/enrollments/student/" + student));
+        } else if (roll < 82) {
+            String body = send("POST /api/enrollments/enroll", post("/api/enrollments/enroll",
+                    "{\"studentId\":" + student + ",\"courseId\":" + pick(data.courseIds(), random) + "}"));
+            Matcher id = body == null ? null : ID.matcher(body);
+            if (id != null && id.find()) {
+                droppable.add(Long.valueOf(id.group(1)));
+            }
+        } else if (roll < 90) {
+            Long enrollment = droppable.poll();
+            if (enrollment != null) {
+                send("DELETE /api/enrollments/{id}", request("/api/enrollments/" + enrollment).DELETE().build());
+            }
+        } else {
+            long enrollment = pick(data.enrollmentIds(), random);
+            send("POST /api/results/update", post("/api/results/update",
+                    "{\"enrollmentId\":" + enrollment + ",\"grade\":\"B\",\"marks\":" + (50 + random.nextInt(50)) + "}"));
+        }
+    }
+
+    /** Returns the body of a 2xx response, null otherwise. */
+    private String send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, ok);
+            return ok ? response.body() : null;
+        } catch (Exception ex) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static long pick(long[] ids, SplittableRandom random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    /** Smaller defaults than the generator's so a laptop run finishes in minutes. */
+    private static Map<String, String> withDefaults(Map<String, String> args) {
+        Map<String, String> merged = new HashMap<>(Map.of("users", "20000", "courses", "1000", "enrollments", "200000"));
+        merged.putAll(args);
+        return merged;
+    }
+
+    /** {@code --key=value} pairs. */
+    static Map<String, String> parseArgs(String[] argv) {
+        Map<String, String> args = new HashMap<>();
+        for (String arg : argv) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                args.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,163 @@
+package com.university.cms.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time-to-first-request of the packaged application: starts it as a child JVM, polls
+ * {@code /actuator/health/readiness} until it is UP, then times one {@code GET /api/courses}.
+ * Compares the plain jar (default profile) with the {@code -Pfast-startup} build (AOT, CDS
+ * archive, fast-startup profile, warm-up), {@code --runs} times each, against the database
+ * given by {@code --jdbc-url}. Child output goes to {@code target/startup-<variant>-<run>.log}.
+ *
+ * <pre>mvn -pl cms-benchmarks -am -Pfast-startup,startup verify -DskipTests -Dstartup.args="--runs=5"</pre>
+ */
+public final class StartupTimer {
+
+    private record Variant(String name, List<String> command) {}
+
+    private record Run(long readyMillis, long firstRequestMillis) {
+        long total() {
+            return readyMillis + firstRequestMillis;
+        }
+    }
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final Map<String, String> args;
+    private final int port;
+
+    private StartupTimer(Map<String, String> args) {
+        this.args = args;
+        this.port = Integer.parseInt(args.getOrDefault("port", "18080"));
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> args = new HashMap<>();
+        for (String arg : argv) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                args.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new StartupTimer(args).run();
+    }
+
+    private void run() throws Exception {
+        Path target = Path.of(args.getOrDefault("cms-target", "cms/target"));
+        int runs = Integer.parseInt(args.getOrDefault("runs", "3"));
+        Duration timeout = Duration.parse("PT" + args.getOrDefault("timeout", "180s").toUpperCase());
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("jar", List.of("-jar", bootJar(target).toString())));
+        Path app = target.resolve("app");
+        if (Files.exists(app.resolve("cms.jsa"))) {
+            variants.add(new Variant("aot+cds", List.of(
+                    "-XX:SharedArchiveFile=" + app.resolve("cms.jsa"),
+                    "-Dspring.aot.enabled=true",
+                    "-Dspring.profiles.active=fast-startup",
+                    "-jar", app.resolve(bootJar(target).getFileName()).toString())));
+        } else {
+            System.out.println("no " + app.resolve("cms.jsa") + "; build cms with -Pfast-startup to compare");
+        }
+
+        Map<String, List<Run>> results = new HashMap<>();
+        for (Variant variant : variants) {
+            for (int i = 1; i <= runs; i++) {
+                Run run = measure(variant, target.resolve("startup-" + variant.name() + "-" + i + ".log"), timeout);
+                results.computeIfAbsent(variant.name(), k -> new ArrayList<>()).add(run);
+                System.out.printf("%-8s run %d: ready %6d ms, first request %5d ms%n",
+                        variant.name(), i, run.readyMillis(), run.firstRequestMillis());
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-8s %12s %16s %22s%n", "variant", "ready p50", "first req p50", "time-to-first-req p50");
+        for (Variant variant : variants) {
+            List<Run> list = results.get(variant.name());
+            System.out.printf("%-8s %9d ms %13d ms %19d ms%n", variant.name(),
+                    median(list.stream().mapToLong(Run::readyMillis).toArray()),
+                    median(list.stream().mapToLong(Run::firstRequestMillis).toArray()),
+                    median(list.stream().mapToLong(Run::total).toArray()));
+        }
+    }
+
+    private Run measure(Variant variant, Path log, Duration timeout) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.command());
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=" + args.getOrDefault("jdbc-url",
+                        "jdbc:mysql://localhost:3306/uni_cms?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true"),
+                "--spring.datasource.username=" + args.getOrDefault("user", "unicms"),
+                "--spring.datasource.password=" + args.getOrDefault("password", "unicms_pw"),
+                "--management.endpoint.health.probes.enabled=true"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (!ready()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(variant.name() + " not ready after " + timeout + ", see " + log);
+                }
+                Thread.sleep(20);
+            }
+            long readyAt = System.nanoTime();
+            HttpResponse<Void> first = http.send(get("/api/courses"), HttpResponse.BodyHandlers.discarding());
+            long doneAt = System.nanoTime();
+            if (first.statusCode() != 200) {
+                throw new IllegalStateException("GET /api/courses returned " + first.statusCode() + ", see " + log);
+            }
+            return new Run((readyAt - start) / 1_000_000, (doneAt - readyAt) / 1_000_000);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean ready() throws InterruptedException {
+        try {
+            return http.send(get("/actuator/health/readiness"), HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException notListeningYet) {
+            return false;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    /** The repackaged Spring Boot jar in {@code target}: the {@code exec} classifier, not the plain jar. */
+    private static Path bootJar(Path target) throws IOException {
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(f -> f.getFileName().toString().matches("cms-.*-exec\\.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("no cms jar in " + target.toAbsolutePath()
+                            + "; run mvn -pl cms package first"));
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
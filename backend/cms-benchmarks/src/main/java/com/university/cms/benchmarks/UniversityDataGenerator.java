@@ -0,0 +1,248 @@
+package com.university.cms.benchmarks;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Fills the cms schema with a synthetic university using multi-row INSERTs.
+ *
+ * Course popularity follows a Zipf distribution (a few courses are wanted by everyone and
+ * fill up, the long tail stays half empty); capacities are respected, every (student, course)
+ * pair is unique and courses.enrolled matches the rows written. Tables must already exist
+ * (start the app once, or use the load-test runner which does it for you).
+ *
+ * <pre>java -cp benchmarks.jar com.university.cms.benchmarks.UniversityDataGenerator \
+ *     --jdbc-url=jdbc:mysql://localhost:3306/uni_cms --user=unicms --password=unicms_pw \
+ *     --users=200000 --courses=5000 --enrollments=2000000</pre>
+ */
+public final class UniversityDataGenerator {
+
+    private static final int ROWS_PER_INSERT = 1000;
+    private static final String[] SUBJECTS = {"Algorithms", "Databases", "Networks", "Compilers", "Statistics",
+            "Linear Algebra", "Operating Systems", "Machine Learning", "Ethics", "Thermodynamics", "Calculus",
+            "Organic Chemistry", "Microeconomics", "Philosophy of Mind", "Genetics", "Signal Processing"};
+    private static final String[] GRADES = {"F", "D", "C", "C+", "B-", "B", "B+", "A-", "A"};
+
+    /** What to generate; {@code skew} is the Zipf exponent of course popularity. */
+    public record Config(int users, int courses, int enrollments, double gradedRatio, double skew, long seed) {
+        static Config from(Map<String, String> args) {
+            return new Config(
+                    Integer.parseInt(args.getOrDefault("users", "200000")),
+                    Integer.parseInt(args.getOrDefault("courses", "5000")),
+                    Integer.parseInt(args.getOrDefault("enrollments", "2000000")),
+                    Double.parseDouble(args.getOrDefault("graded", "1.0")),
+                    Double.parseDouble(args.getOrDefault("skew", "1.1")),
+                    Long.parseLong(args.getOrDefault("seed", "42")));
+        }
+    }
+
+    /** Ids of the generated rows, for traffic drivers that need real keys. */
+    public record Generated(long[] studentIds, long[] courseIds, long[] enrollmentIds) {}
+
+    private final JdbcTemplate jdbc;
+
+    public UniversityDataGenerator(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    public static void main(String[] argv) {
+        Map<String, String> args = LoadTestRunner.parseArgs(argv);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                args.getOrDefault("jdbc-url", "jdbc:mysql://localhost:3306/uni_cms?rewriteBatchedStatements=true"),
+                args.getOrDefault("user", "unicms"),
+                args.getOrDefault("password", "unicms_pw"));
+        long start = System.nanoTime();
+        Generated generated = new UniversityDataGenerator(dataSource).generate(Config.from(args));
+        System.out.printf("generated %d users, %d courses, %d enrollments in %.1f s%n",
+                generated.studentIds().length, generated.courseIds().length, generated.enrollmentIds().length,
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    public Generated generate(Config config) {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        String tag = Long.toString(config.seed(), 36) + Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+
+        long[] students = insertUsers(config.users(), tag);
+        int[] capacity = new int[config.courses()];
+        long[] courses = insertCourses(config, tag, capacity, random);
+        int[] enrolled = new int[courses.length];
+        long[] enrollments = insertEnrollments(config, students, courses, capacity, enrolled, random);
+        insertResults(enrollments, config.gradedRatio(), random);
+
+        List<Object[]> counts = new ArrayList<>(courses.length);
+        for (int i = 0; i < courses.length; i++) {
+            counts.add(new Object[] {enrolled[i], courses[i]});
+        }
+        jdbc.batchUpdate("update courses set enrolled = ? where id = ?", counts);
+        return new Generated(students, courses, enrollments);
+    }
+
+    private long[] insertUsers(int count, String tag) {
+        long before = maxId("users");
+        MultiRowInsert insert = new MultiRowInsert("insert into users (email, username, password, is_admin) values ", 4);
+        for (int i = 0; i < count; i++) {
+            insert.add(tag + "." + i + "@uni.test", "gen" + tag + "_" + i, "pw" + i, i % 1000 == 0);
+        }
+        insert.flush();
+        return idsAfter("users", before);
+    }
+
+    private long[] insertCourses(Config config, String tag, int[] capacity, SplittableRandom random) {
+        long before = maxId("courses");
+        // enough seats overall for every requested enrollment, unevenly spread
+        int meanCapacity = Math.max(20, (int) Math.ceil(config.enrollments() * 1.3 / config.courses()));
+        MultiRowInsert insert = new MultiRowInsert(
+                "insert into courses (code, title, description, credits, capacity, active, enrolled) values ", 7);
+        for (int i = 0; i < config.courses(); i++) {
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            capacity[i] = meanCapacity / 2 + random.nextInt(meanCapacity + 1);
+            insert.add(tag.toUpperCase() + i, subject + " " + (100 + random.nextInt(400)),
+                    "Synthetic course on " + subject.toLowerCase() + " (generated)", 1 + random.nextInt(5),
+                    capacity[i], random.nextInt(20) != 0, 0);
+        }
+        insert.flush();
+        return idsAfter("courses", before);
+    }
+
+    private long[] insertEnrollments(Config config, long[] students, long[] courses, int[] capacity, int[] enrolled,
+                                     SplittableRandom random) {
+        long before = maxId("enrollments");
+        Zipf popularity = new Zipf(courses.length, config.skew(), random);
+        int perStudent = Math.max(1, (int) Math.round((double) config.enrollments() / students.length));
+        int[] chosen = new int[perStudent];
+        LocalDateTime base = LocalDateTime.now().minusDays(90);
+
+        MultiRowInsert insert = new MultiRowInsert("insert into enrollments (student_id, course_id, enrolled_at) values ", 3);
+        int written = 0;
+        for (int s = 0; s < students.length && written < config.enrollments(); s++) {
+            int taken = 0;
+            for (int attempt = 0; taken < perStudent && attempt < perStudent * 20; attempt++) {
+                int course = popularity.next();
+                if (enrolled[course] >= capacity[course] || contains(chosen, taken, course)) {
+                    continue;
+                }
+                chosen[taken++] = course;
+                enrolled[course]++;
+                insert.add(students[s], courses[course], Timestamp.valueOf(base.plusMinutes(random.nextInt(90 * 24 * 60))));
+                if (++written == config.enrollments()) {
+                    break;
+                }
+            }
+        }
+        insert.flush();
+        return idsAfter("enrollments", before);
+    }
+
+    private void insertResults(long[] enrollments, double gradedRatio, SplittableRandom random) {
+        MultiRowInsert insert = new MultiRowInsert("insert into results (enrollment_id, grade, marks) values ", 3);
+        for (long enrollmentId : enrollments) {
+            if (random.nextDouble() >= gradedRatio) {
+                continue;
+            }
+            // roughly normal around 68 marks
+            double marks = Math.max(0, Math.min(100, 68 + 14 * (random.nextDouble() + random.nextDouble() + random.nextDouble() - 1.5) * 2));
+            String grade = GRADES[Math.min(GRADES.length - 1, (int) Math.max(0, (marks - 40) / 7))];
+            insert.add(enrollmentId, grade, Math.round(marks * 100) / 100.0);
+        }
+        insert.flush();
+    }
+
+    private long maxId(String table) {
+        Long max = jdbc.queryForObject("select max(id) from " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private long[] idsAfter(String table, long id) {
+        return jdbc.queryForList("select id from " + table + " where id > ? order by id", Long.class, id)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Buffers rows and sends them as {@code insert ... values (...), (...), ...} statements. */
+    private final class MultiRowInsert {
+        private final String prefix;
+        private final int columns;
+        private final List<Object> args = new ArrayList<>();
+        private String fullStatement;
+
+        MultiRowInsert(String prefix, int columns) {
+            this.prefix = prefix;
+            this.columns = columns;
+        }
+
+        void add(Object... row) {
+            args.addAll(Arrays.asList(row));
+            if (args.size() == ROWS_PER_INSERT * columns) {
+                if (fullStatement == null) {
+                    fullStatement = statement(ROWS_PER_INSERT);
+                }
+                jdbc.update(fullStatement, args.toArray());
+                args.clear();
+            }
+        }
+
+        void flush() {
+            if (!args.isEmpty()) {
+                jdbc.update(statement(args.size() / columns), args.toArray());
+                args.clear();
+            }
+        }
+
+        private String statement(int rows) {
+            String tuple = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+            return prefix + String.join(", ", Collections.nCopies(rows, tuple));
+        }
+    }
+
+    /** Zipf sampler over course ranks; ranks are shuffled onto course indexes so ids carry no popularity signal. */
+    private static final class Zipf {
+        private final double[] cumulative;
+        private final int[] courseOfRank;
+        private final SplittableRandom random;
+
+        Zipf(int n, double exponent, SplittableRandom random) {
+            this.random = random;
+            cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            courseOfRank = new int[n];
+            for (int i = 0; i < n; i++) {
+                courseOfRank[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = courseOfRank[i];
+                courseOfRank[i] = courseOfRank[j];
+                courseOfRank[j] = tmp;
+            }
+        }
+
+        int next() {
+            double u = random.nextDouble() * cumulative[cumulative.length - 1];
+            int rank = Arrays.binarySearch(cumulative, u);
+            return courseOfRank[rank >= 0 ? rank : -rank - 1];
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.university.cms.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps requests in flight at a limit that follows database latency (a gradient limiter).
+ *
+ * Two moving averages of the per-statement latency are kept: a short one (the last few dozen
+ * requests) and a long one (the baseline). While the short average stays within
+ * {@code tolerance} times the baseline the limit creeps up by a fraction of its square root per
+ * sample; once it drifts above, the limit shrinks in proportion to the overshoot. Samples taken while
+ * less than half the limit is in use are ignored for growth, so an idle instance does not talk
+ * itself into an unbounded limit.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WEIGHT = 1.0 / 20;
+    private static final double LONG_WEIGHT = 1.0 / 500;
+    private static final double SMOOTHING = 0.2;
+
+    private final int min;
+    private final int max;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    // guarded by this
+    private double shortNanos;
+    private double longNanos;
+
+    AdaptiveConcurrencyLimit(int initial, int min, int max, double tolerance) {
+        if (min < 1 || min > initial || initial > max || tolerance < 1) {
+            throw new IllegalArgumentException("need 1 <= min <= initial <= max and tolerance >= 1, was "
+                    + min + " <= " + initial + " <= " + max + ", " + tolerance);
+        }
+        this.limit = initial;
+        this.min = min;
+        this.max = max;
+        this.tolerance = tolerance;
+    }
+
+    /** Takes a slot unless {@link #limit()} requests are already in flight. */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Gives the slot back; {@code statementNanos} is the request's mean statement latency, or 0 if it ran none. */
+    void release(long statementNanos) {
+        int current = inFlight.getAndDecrement();
+        if (statementNanos > 0) {
+            sample(statementNanos, current);
+        }
+    }
+
+    private synchronized void sample(long nanos, int inFlightAtSample) {
+        if (longNanos == 0) {
+            shortNanos = nanos;
+            longNanos = nanos;
+            return;
+        }
+        shortNanos += (nanos - shortNanos) * SHORT_WEIGHT;
+        longNanos += (nanos - longNanos) * LONG_WEIGHT;
+        if (longNanos > 2 * shortNanos) {
+            longNanos *= 0.95; // the baseline recovers after a slow period instead of pinning the limit high
+        }
+
+        int current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longNanos / shortNanos));
+        if (gradient == 1.0 && inFlightAtSample < current / 2) {
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = (int) Math.max(min, Math.min(max, Math.round(next)));
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Short-term mean statement latency, in milliseconds. */
+    synchronized double latencyMillis() {
+        return shortNanos / 1_000_000;
+    }
+
+    /** Long-term (baseline) mean statement latency, in milliseconds. */
+    synchronized double baselineMillis() {
+        return longNanos / 1_000_000;
+    }
+}
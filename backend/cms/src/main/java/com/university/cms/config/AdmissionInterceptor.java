@@ -0,0 +1,142 @@
+package com.university.cms.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.university.cms.dto.SessionPrincipal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load shedding in front of the enrollment and results controllers, before any database work:
+ * <ul>
+ *   <li>a token bucket per student and endpoint ({@code cms.admission.rate}/{@code burst}, overridable
+ *       per handler method under {@code cms.admission.endpoints.<method>}); the student is the session's
+ *       user, or the client address for anonymous calls;</li>
+ *   <li>a global {@link AdaptiveConcurrencyLimit} on requests in flight, fed with each request's mean
+ *       statement latency from {@link QueryStats}.</li>
+ * </ul>
+ * A shed request gets 429 with {@code Retry-After}. Off until the instance reports ready, so the
+ * start-up warm-up is not throttled. Exports {@code cms.admission.rejected} (by reason and endpoint),
+ * {@code cms.admission.limit}, {@code cms.admission.in-flight}, {@code cms.admission.latency} and
+ * {@code cms.admission.subjects}. Runs after {@link AuthInterceptor}, which resolves the caller.
+ */
+@Component
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".admitted";
+
+    private final ApplicationAvailability availability;
+    private final MeterRegistry meterRegistry;
+    private final Binder binder;
+    private final boolean enabled;
+    private final double rate;
+    private final int burst;
+    private final long maxSubjects;
+    private final String concurrencyRetryAfter;
+    private final AdaptiveConcurrencyLimit concurrency;
+    private final Map<String, TokenBuckets<Object>> buckets = new ConcurrentHashMap<>();
+
+    public AdmissionInterceptor(ApplicationAvailability availability, MeterRegistry meterRegistry, Environment environment,
+                                @Value("${cms.admission.enabled:true}") boolean enabled,
+                                @Value("${cms.admission.rate:5}") double rate,
+                                @Value("${cms.admission.burst:20}") int burst,
+                                @Value("${cms.admission.max-subjects:100000}") long maxSubjects,
+                                @Value("${cms.admission.concurrency.initial:50}") int initialLimit,
+                                @Value("${cms.admission.concurrency.min:10}") int minLimit,
+                                @Value("${cms.admission.concurrency.max:400}") int maxLimit,
+                                @Value("${cms.admission.concurrency.tolerance:1.5}") double tolerance,
+                                @Value("${cms.admission.concurrency.retry-after:1s}") Duration concurrencyRetryAfter) {
+        this.availability = availability;
+        this.meterRegistry = meterRegistry;
+        this.binder = Binder.get(environment);
+        this.enabled = enabled;
+        this.rate = rate;
+        this.burst = burst;
+        this.maxSubjects = maxSubjects;
+        this.concurrencyRetryAfter = Long.toString(Math.max(1, concurrencyRetryAfter.toSeconds()));
+        this.concurrency = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance);
+
+        Gauge.builder("cms.admission.limit", concurrency, AdaptiveConcurrencyLimit::limit).register(meterRegistry);
+        Gauge.builder("cms.admission.in-flight", concurrency, AdaptiveConcurrencyLimit::inFlight).register(meterRegistry);
+        Gauge.builder("cms.admission.latency", concurrency, AdaptiveConcurrencyLimit::latencyMillis)
+                .tag("window", "short").baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("cms.admission.latency", concurrency, AdaptiveConcurrencyLimit::baselineMillis)
+                .tag("window", "baseline").baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("cms.admission.subjects", buckets, b -> b.values().stream().mapToLong(TokenBuckets::size).sum())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod method) || request.getDispatcherType() == DispatcherType.ASYNC
+                || availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return true;
+        }
+        String endpoint = method.getMethod().getName();
+        long waitNanos = bucketsFor(endpoint).tryAcquire(subject(request), System.nanoTime());
+        if (waitNanos > 0) {
+            return reject(response, endpoint, "rate", Long.toString(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        }
+        if (!concurrency.tryAcquire()) {
+            return reject(response, endpoint, "concurrency", concurrencyRetryAfter);
+        }
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    /** Streaming responses finish on another thread without holding a slot. */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            concurrency.release(0);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) == null) {
+            return;
+        }
+        request.removeAttribute(ADMITTED);
+        QueryStats stats = QueryStats.current();
+        concurrency.release(stats == null || stats.statements() == 0 ? 0 : stats.jdbcNanos() / stats.statements());
+    }
+
+    private TokenBuckets<Object> bucketsFor(String endpoint) {
+        return buckets.computeIfAbsent(endpoint, name -> new TokenBuckets<>(
+                binder.bind("cms.admission.endpoints." + name + ".rate", Double.class).orElse(rate),
+                binder.bind("cms.admission.endpoints." + name + ".burst", Integer.class).orElse(burst),
+                maxSubjects));
+    }
+
+    private boolean reject(HttpServletResponse response, String endpoint, String reason, String retryAfterSeconds) {
+        Counter.builder("cms.admission.rejected").tag("reason", reason).tag("endpoint", endpoint)
+                .register(meterRegistry).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        return false;
+    }
+
+    private static Object subject(HttpServletRequest request) {
+        return request.getAttribute(AuthInterceptor.PRINCIPAL) instanceof SessionPrincipal p ? p.userId() : request.getRemoteAddr();
+    }
+}
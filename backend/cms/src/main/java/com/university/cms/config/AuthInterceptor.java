@@ -0,0 +1,56 @@
+package com.university.cms.config;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.university.cms.controllers.RequiresAdmin;
+import com.university.cms.dto.SessionPrincipal;
+import com.university.cms.services.SessionTokenService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolves the {@code Authorization: Bearer} token into a {@link SessionPrincipal} request
+ * attribute and, when {@code cms.auth.enforce=true}, rejects non-admins on {@link RequiresAdmin} handlers.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthInterceptor implements HandlerInterceptor {
+
+    public static final String PRINCIPAL = "cms.principal";
+    private static final String BEARER = "Bearer ";
+
+    private final SessionTokenService sessionTokenService;
+
+    @Value("${cms.auth.enforce:false}")
+    private boolean enforce;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Optional<SessionPrincipal> principal = Optional.ofNullable(request.getHeader(HttpHeaders.AUTHORIZATION))
+                .filter(h -> h.startsWith(BEARER))
+                .flatMap(h -> sessionTokenService.verify(h.substring(BEARER.length()).strip()));
+        principal.ifPresent(p -> request.setAttribute(PRINCIPAL, p));
+
+        if (!enforce || !(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(RequiresAdmin.class)) {
+            return true;
+        }
+        if (principal.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        if (!principal.get().admin()) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package com.university.cms.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps the application DataSource (the {@code dataSource} bean, not every DataSource in the
+ * context) in an {@link AdmissionControlledDataSource} when {@code cms.db.admission.enabled=true}
+ * (switched on by the virtual-threads profile).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cms.db.admission.enabled", havingValue = "true")
+public class DbAdmissionConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    static BeanPostProcessor dbAdmissionPostProcessor(Environment environment,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        int permits = binder.bind("cms.db.admission.permits", Integer.class)
+                .orElseGet(() -> binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).orElse(10));
+        int maxWaiting = binder.bind("cms.db.admission.max-waiting", Integer.class).orElse(1000);
+        Duration timeout = binder.bind("cms.db.admission.timeout", Duration.class).orElse(Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof AdmissionControlledDataSource) {
+                    return bean;
+                }
+                AdmissionControlledDataSource admitted =
+                        new AdmissionControlledDataSource(dataSource, permits, maxWaiting, timeout);
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("cms.db.admission.available", admitted, AdmissionControlledDataSource::availablePermits)
+                            .register(registry);
+                    Gauge.builder("cms.db.admission.waiting", admitted, AdmissionControlledDataSource::waiting)
+                            .register(registry);
+                    FunctionCounter.builder("cms.db.admission.rejected", admitted, AdmissionControlledDataSource::rejected)
+                            .register(registry);
+                });
+                return admitted;
+            }
+        };
+    }
+}
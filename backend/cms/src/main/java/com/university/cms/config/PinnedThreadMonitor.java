@@ -0,0 +1,63 @@
+package com.university.cms.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier (typically blocking inside a
+ * {@code synchronized} block, e.g. in the JDBC driver) longer than the threshold, using the
+ * JFR {@code jdk.VirtualThreadPinned} event. Only active when virtual threads are enabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Counter pinned;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry,
+                               @Value("${cms.threads.pinned-threshold:20ms}") Duration threshold) {
+        this.pinned = Counter.builder("cms.threads.pinned").register(meterRegistry);
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        String where = "unknown";
+        if (event.getStackTrace() != null && !event.getStackTrace().getFrames().isEmpty()) {
+            RecordedFrame top = event.getStackTrace().getFrames().get(0);
+            where = top.getMethod().getType().getName() + "." + top.getMethod().getName() + ":" + top.getLineNumber();
+        }
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), where);
+    }
+}
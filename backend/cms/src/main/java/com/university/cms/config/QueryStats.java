@@ -0,0 +1,141 @@
+package com.university.cms.config;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hibernate activity of one unit of work (normally one HTTP request) on the current thread:
+ * statements, entity loads, JDBC execute time and repeated identical SELECTs, which is what an
+ * N+1 looks like (lazy loads inside a mapping loop). Fed by {@link QueryStatsInspector},
+ * {@link QueryStatsSessionListener} and {@link QueryStatsIntegrator}; opened per request by
+ * {@link QueryStatsFilter} and directly by tests.
+ *
+ * Only statements that go through Hibernate are seen. The JdbcTemplate writes in the
+ * repository {@code *Impl} classes (the outbox append, the batched enrollment and user inserts,
+ * the result and standing upserts) are in none of the numbers: not in {@link #statements()},
+ * not in {@link #jdbcNanos()} and not in the N+1 check. A request that ends in one of them
+ * costs one statement more than reported per call.
+ */
+@Slf4j
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats outer;
+    private final int nPlusOneThreshold;
+    private final boolean failOnNPlusOne;
+    private final Map<String, Integer> selects = new HashMap<>();
+    private int statements;
+    private int entitiesLoaded;
+    private long jdbcNanos;
+    private long renderStartNanos;
+    private long jdbcNanosAtRender;
+    private String repeatedSelect;
+    private int repeatedCount;
+
+    private QueryStats(QueryStats outer, int nPlusOneThreshold, boolean failOnNPlusOne) {
+        this.outer = outer;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.failOnNPlusOne = failOnNPlusOne;
+    }
+
+    /**
+     * Starts collecting on this thread until {@link #close()}. More than {@code nPlusOneThreshold}
+     * executions of the same SELECT is reported once, with the stack of the offending load; with
+     * {@code failOnNPlusOne} that statement throws {@link IllegalStateException} instead.
+     */
+    public static QueryStats open(int nPlusOneThreshold, boolean failOnNPlusOne) {
+        if (nPlusOneThreshold < 1) {
+            throw new IllegalArgumentException("N+1 threshold must be at least 1");
+        }
+        QueryStats stats = new QueryStats(CURRENT.get(), nPlusOneThreshold, failOnNPlusOne);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** The collector open on this thread, or null. */
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    void statement(String sql) {
+        statements++;
+        if (!sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            return;
+        }
+        int executions = selects.merge(sql, 1, Integer::sum);
+        if (executions > repeatedCount) {
+            repeatedCount = executions;
+            repeatedSelect = sql;
+        }
+        if (executions == nPlusOneThreshold + 1) {
+            String message = String.format(Locale.ROOT, "N+1 query: %d executions of the same SELECT in one request: %s",
+                    executions, sql);
+            if (failOnNPlusOne) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message, new Throwable("repeated SELECT issued here"));
+        }
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void jdbc(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    /** Marks the start of response serialization; JDBC time after this point is lazy loading while rendering. */
+    void renderStarted() {
+        if (renderStartNanos == 0) {
+            renderStartNanos = System.nanoTime();
+            jdbcNanosAtRender = jdbcNanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public long jdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /** Time from the first response body write until now, minus JDBC work done meanwhile; 0 if nothing was written. */
+    long serializationNanos(long nowNanos) {
+        if (renderStartNanos == 0) {
+            return 0;
+        }
+        return Math.max(0, nowNanos - renderStartNanos - (jdbcNanos - jdbcNanosAtRender));
+    }
+
+    /** Highest number of executions of a single SELECT. */
+    public int maxRepeatedSelects() {
+        return repeatedCount;
+    }
+
+    public boolean nPlusOneDetected() {
+        return repeatedCount > nPlusOneThreshold;
+    }
+
+    String repeatedSelect() {
+        return repeatedSelect;
+    }
+}
@@ -0,0 +1,77 @@
+package com.university.cms.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects {@link QueryStats} for each {@code /api/**} request and exports them per endpoint:
+ * {@code cms.request.statements}, {@code cms.request.entities.loaded}, {@code cms.request.jdbc},
+ * {@code cms.request.serialization} and {@code cms.request.n-plus-one}.
+ */
+@Slf4j
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final boolean failOnNPlusOne;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry,
+                            @Value("${cms.diagnostics.n-plus-one.threshold:10}") int nPlusOneThreshold,
+                            @Value("${cms.diagnostics.n-plus-one.fail:false}") boolean failOnNPlusOne) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.failOnNPlusOne = failOnNPlusOne;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (QueryStats stats = QueryStats.open(nPlusOneThreshold, failOnNPlusOne)) {
+            chain.doFilter(request, response);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        long now = System.nanoTime();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+
+        DistributionSummary.builder("cms.request.statements").tags(tags).register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder("cms.request.entities.loaded").tags(tags).register(meterRegistry)
+                .record(stats.entitiesLoaded());
+        Timer.builder("cms.request.jdbc").tags(tags).register(meterRegistry)
+                .record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("cms.request.serialization").tags(tags).register(meterRegistry)
+                .record(stats.serializationNanos(now), TimeUnit.NANOSECONDS);
+        if (stats.nPlusOneDetected()) {
+            Counter.builder("cms.request.n-plus-one").tags(tags).register(meterRegistry).increment();
+            log.warn("{} {}: {} statements, {} entities loaded, one SELECT ran {} times: {}", request.getMethod(),
+                    request.getRequestURI(), stats.statements(), stats.entitiesLoaded(), stats.maxRepeatedSelects(),
+                    stats.repeatedSelect());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.university.cms.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Counts every SQL statement Hibernate prepares into the thread's {@link QueryStats}; JdbcTemplate's are not seen. */
+public class QueryStatsInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+}
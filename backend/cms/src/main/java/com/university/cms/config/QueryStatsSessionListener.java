@@ -0,0 +1,37 @@
+package com.university.cms.config;
+
+import org.hibernate.SessionEventListener;
+
+/** Adds the time Hibernate spends executing JDBC statements and batches to the thread's {@link QueryStats}. */
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && executeStart != 0) {
+            stats.jdbc(System.nanoTime() - executeStart);
+        }
+        executeStart = 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.university.cms.config;
+
+import java.time.Duration;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.cms.dto.SessionPrincipal;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Replicas may trail the primary: for {@code cms.datasource.routing.read-your-writes} after a user's
+ * last write request, that user's reads are pinned to the primary, so an enrollment never seems
+ * to vanish on the next page load. Runs after {@link AuthInterceptor}, which resolves the caller.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(Duration lagTolerance) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(lagTolerance)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SessionPrincipal principal = principal(request);
+        if (principal != null && recentWriters.getIfPresent(principal.userId()) != null) {
+            ReplicaDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaDataSource.unpin();
+        SessionPrincipal principal = principal(request);
+        if (principal != null && !isRead(request.getMethod())) {
+            recentWriters.put(principal.userId(), Boolean.TRUE);
+        }
+    }
+
+    private static SessionPrincipal principal(HttpServletRequest request) {
+        return request.getAttribute(AuthInterceptor.PRINCIPAL) instanceof SessionPrincipal p ? p : null;
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,120 @@
+package com.university.cms.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Connections for read-only transactions: round-robin over the replica pools, skipping a replica
+ * for {@code cooldown} after it failed to hand out a connection, and falling back to the primary
+ * when none is available or the current thread is pinned to it (read-your-writes).
+ * Owns the replica pools and closes them; the primary belongs to its own bean.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long cooldownNanos;
+    private final AtomicLongArray downUntil;   // System.nanoTime() deadline, 0 when healthy
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, Duration cooldown) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.cooldownNanos = cooldown.toNanos();
+        this.downUntil = new AtomicLongArray(replicas.size());
+    }
+
+    /** Make read-only transactions on this thread use the primary until {@link #unpin()}. */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /** Same routing; the chosen pool decides whether it accepts the credentials. */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface Connect {
+        Connection to(DataSource target) throws SQLException;
+    }
+
+    private Connection route(Connect connect) throws SQLException {
+        if (PINNED_TO_PRIMARY.get() == null) {
+            int count = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), count);
+            for (int i = 0; i < count; i++) {
+                int replica = (start + i) % count;
+                long until = downUntil.get(replica);
+                if (until != 0 && until - System.nanoTime() > 0) {
+                    continue;
+                }
+                try {
+                    Connection connection = connect.to(replicas.get(replica));
+                    downUntil.set(replica, 0);
+                    return connection;
+                } catch (SQLException ex) {
+                    downUntil.set(replica, System.nanoTime() + cooldownNanos);
+                    log.warn("Read replica {} unavailable, skipping it for {} ms", replica, cooldownNanos / 1_000_000, ex);
+                }
+            }
+        }
+        primaryReads.increment();
+        return connect.to(primary);
+    }
+
+    public int healthyReplicas() {
+        int healthy = 0;
+        for (int i = 0; i < downUntil.length(); i++) {
+            long until = downUntil.get(i);
+            if (until == 0 || until - System.nanoTime() <= 0) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    /** Read-only connections that went to the primary (pinned, or no healthy replica). */
+    public long primaryReads() {
+        return primaryReads.sum();
+    }
+
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close read replica pool", ex);
+                }
+            }
+        }
+    }
+}
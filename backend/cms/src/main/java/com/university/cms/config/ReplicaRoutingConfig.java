@@ -0,0 +1,127 @@
+package com.university.cms.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends {@code readOnly} transactions to read replicas when {@code cms.datasource.routing.enabled=true}.
+ *
+ * The application DataSource is wrapped in a {@link LazyConnectionDataSourceProxy}: a transaction
+ * only takes a physical connection at its first statement, once its read-only flag is known, and
+ * read-only ones take it from a {@link ReplicaDataSource} over the pools in {@code cms.datasource.replicas}.
+ * Runs before {@link DbAdmissionConfig}, so admission control still sees every connection.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cms.datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /** One replica pool; {@code maximumPoolSize} defaults to the primary's. */
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {}
+
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(Environment environment,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        List<Replica> replicas = binder.bind("cms.datasource.replicas", Bindable.listOf(Replica.class)).orElse(List.of());
+        Duration cooldown = binder.bind("cms.datasource.routing.unhealthy-cooldown", Duration.class)
+                .orElse(Duration.ofSeconds(10));
+        Duration connectionTimeout = binder.bind("cms.datasource.routing.connection-timeout", Duration.class)
+                .orElse(Duration.ofSeconds(1));
+        int defaultPoolSize = binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).orElse(10);
+        return new RoutingPostProcessor(replicas, cooldown, connectionTimeout, defaultPoolSize, meterRegistry);
+    }
+
+    @Bean
+    ReadYourWritesInterceptor readYourWritesInterceptor(Environment environment) {
+        return new ReadYourWritesInterceptor(Binder.get(environment)
+                .bind("cms.datasource.routing.read-your-writes", Duration.class)
+                .orElse(Duration.ofSeconds(2)));
+    }
+
+    private record RoutingPostProcessor(List<Replica> replicas, Duration cooldown, Duration connectionTimeout,
+                                        int defaultPoolSize, ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || bean instanceof LazyConnectionDataSourceProxy
+                    || replicas.isEmpty()) {
+                return bean;
+            }
+            List<DataSource> pools = new ArrayList<>(replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                pools.add(pool(replicas.get(i), i));
+            }
+            ReplicaDataSource reads = new ReplicaDataSource(primary, pools, cooldown);
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("cms.db.replicas.healthy", reads, ReplicaDataSource::healthyReplicas).register(registry);
+                FunctionCounter.builder("cms.db.replicas.primary-reads", reads, ReplicaDataSource::primaryReads)
+                        .register(registry);
+            });
+            return new RoutedDataSource(primary, reads);
+        }
+
+        private HikariDataSource pool(Replica replica, int index) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + index);
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setMaximumPoolSize(replica.maximumPoolSize() != null ? replica.maximumPoolSize() : defaultPoolSize);
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(connectionTimeout.toMillis()); // a dead replica fails over fast
+            pool.setInitializationFailTimeout(-1);                   // and does not stop the app from starting
+            return pool;
+        }
+    }
+
+    /**
+     * The routing proxy as the DataSource bean. Spring infers the bean's destroy method from this
+     * object, not from the pool it wraps, so closing it closes the replica pools and the primary.
+     */
+    static final class RoutedDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final ReplicaDataSource reads;
+
+        RoutedDataSource(DataSource primary, ReplicaDataSource reads) {
+            super(primary);
+            this.reads = reads;
+            setReadOnlyDataSource(reads);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reads.close();
+            if (obtainTargetDataSource() instanceof Closeable primary) {
+                primary.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.university.cms.config;
+
+import java.io.IOException;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.university.cms.dto.CatalogEntry;
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.dto.ResultView;
+import com.university.cms.dto.UserView;
+
+/**
+ * Hand-written Jackson serializers for the records on the hottest responses, registered up front
+ * with the application's ObjectMapper. Each writes its fields in declaration order under
+ * pre-encoded names, straight from the record accessors: no bean introspection on first use and
+ * no per-property writer dispatch per row. The JSON is the same as the default serializers'.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ResponseSerializers {
+
+    @Bean
+    Module responseSerializersModule() {
+        return module();
+    }
+
+    /** The module on its own, for mappers built outside the application context. */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("cms-responses");
+        module.addSerializer(EnrollmentDto.class, new EnrollmentDtoSerializer());
+        module.addSerializer(CourseView.class, new CourseViewSerializer());
+        module.addSerializer(CatalogEntry.class, new CatalogEntrySerializer());
+        module.addSerializer(UserView.class, new UserViewSerializer());
+        module.addSerializer(ResultView.class, new ResultViewSerializer());
+        return module;
+    }
+
+    private abstract static class RecordSerializer<T> extends StdSerializer<T> {
+
+        RecordSerializer(Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        public final void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeFields(value, gen, provider);
+            gen.writeEndObject();
+        }
+
+        abstract void writeFields(T value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+    }
+
+    private static final class EnrollmentDtoSerializer extends RecordSerializer<EnrollmentDto> {
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString STUDENT_ID = new SerializedString("studentId");
+        private static final SerializableString STUDENT_USERNAME = new SerializedString("studentUsername");
+        private static final SerializableString COURSE_ID = new SerializedString("courseId");
+        private static final SerializableString COURSE_CODE = new SerializedString("courseCode");
+        private static final SerializableString COURSE_TITLE = new SerializedString("courseTitle");
+        private static final SerializableString ENROLLED_AT = new SerializedString("enrolledAt");
+        private static final SerializableString GRADE = new SerializedString("grade");
+        private static final SerializableString MARKS = new SerializedString("marks");
+
+        EnrollmentDtoSerializer() {
+            super(EnrollmentDto.class);
+        }
+
+        @Override
+        void writeFields(EnrollmentDto e, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            number(gen, ID, e.id());
+            number(gen, STUDENT_ID, e.studentId());
+            string(gen, STUDENT_USERNAME, e.studentUsername());
+            number(gen, COURSE_ID, e.courseId());
+            string(gen, COURSE_CODE, e.courseCode());
+            string(gen, COURSE_TITLE, e.courseTitle());
+            gen.writeFieldName(ENROLLED_AT);
+            provider.defaultSerializeValue(e.enrolledAt(), gen); // honours the configured date format
+            string(gen, GRADE, e.grade());
+            number(gen, MARKS, e.marks());
+        }
+    }
+
+    private static final class CourseViewSerializer extends RecordSerializer<CourseView> {
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString CODE = new SerializedString("code");
+        private static final SerializableString TITLE = new SerializedString("title");
+        private static final SerializableString DESCRIPTION = new SerializedString("description");
+        private static final SerializableString CREDITS = new SerializedString("credits");
+        private static final SerializableString CAPACITY = new SerializedString("capacity");
+        private static final SerializableString ACTIVE = new SerializedString("active");
+
+        CourseViewSerializer() {
+            super(CourseView.class);
+        }
+
+        @Override
+        void writeFields(CourseView c, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            number(gen, ID, c.id());
+            string(gen, CODE, c.code());
+            string(gen, TITLE, c.title());
+            string(gen, DESCRIPTION, c.description());
+            number(gen, CREDITS, c.credits());
+            number(gen, CAPACITY, c.capacity());
+            gen.writeFieldName(ACTIVE);
+            gen.writeBoolean(c.active());
+        }
+    }
+
+    private static final class CatalogEntrySerializer extends RecordSerializer<CatalogEntry> {
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString CODE = new SerializedString("code");
+        private static final SerializableString TITLE = new SerializedString("title");
+        private static final SerializableString CREDITS = new SerializedString("credits");
+        private static final SerializableString SEATS_LEFT = new SerializedString("seatsLeft");
+        private static final SerializableString ENROLLED = new SerializedString("enrolled");
+
+        CatalogEntrySerializer() {
+            super(CatalogEntry.class);
+        }
+
+        @Override
+        void writeFields(CatalogEntry c, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            number(gen, ID, c.id());
+            string(gen, CODE, c.code());
+            string(gen, TITLE, c.title());
+            number(gen, CREDITS, c.credits());
+            gen.writeFieldName(SEATS_LEFT);
+            gen.writeNumber(c.seatsLeft());
+            gen.writeFieldName(ENROLLED);
+            gen.writeBoolean(c.enrolled());
+        }
+    }
+
+    private static final class UserViewSerializer extends RecordSerializer<UserView> {
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString EMAIL = new SerializedString("email");
+        private static final SerializableString USERNAME = new SerializedString("username");
+        private static final SerializableString ADMIN = new SerializedString("admin");
+
+        UserViewSerializer() {
+            super(UserView.class);
+        }
+
+        @Override
+        void writeFields(UserView u, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            number(gen, ID, u.id());
+            string(gen, EMAIL, u.email());
+            string(gen, USERNAME, u.username());
+            gen.writeFieldName(ADMIN);
+            gen.writeBoolean(u.admin());
+        }
+    }
+
+    private static final class ResultViewSerializer extends RecordSerializer<ResultView> {
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString ENROLLMENT_ID = new SerializedString("enrollmentId");
+        private static final SerializableString GRADE = new SerializedString("grade");
+        private static final SerializableString MARKS = new SerializedString("marks");
+
+        ResultViewSerializer() {
+            super(ResultView.class);
+        }
+
+        @Override
+        void writeFields(ResultView r, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            number(gen, ID, r.id());
+            number(gen, ENROLLMENT_ID, r.enrollmentId());
+            string(gen, GRADE, r.grade());
+            gen.writeFieldName(MARKS);
+            gen.writeNumber(r.marks()); // null-safe, and honours WRITE_BIGDECIMAL_AS_PLAIN
+        }
+    }
+
+    // --- nullable fields, written as JSON null like the default serializers do ---
+
+    private static void string(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value); // writes null for null
+    }
+
+    private static void number(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void number(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    private static void number(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.university.cms.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.util.ClassUtils;
+
+import com.university.cms.services.CourseService;
+import com.university.cms.services.EnrollmentService;
+import com.university.cms.services.ResultService;
+import com.university.cms.services.UserService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method of the core services ({@code cms.service.calls}, tagged with
+ * service, method and outcome) and counts failures by exception type ({@code cms.service.errors}).
+ * The advisor is infrastructure-role so it joins the transactional proxy instead of stacking another.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ServiceMetricsConfig {
+
+    private static final Set<Class<?>> SERVICES =
+            Set.of(EnrollmentService.class, CourseService.class, ResultService.class, UserService.class);
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut publicServiceMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                Class<?> service = ClassUtils.getUserClass(targetClass);
+                return SERVICES.contains(service)
+                        && method.getDeclaringClass() == service
+                        && Modifier.isPublic(method.getModifiers())
+                        && !Modifier.isStatic(method.getModifiers());
+            }
+        };
+        publicServiceMethods.setClassFilter(type -> SERVICES.contains(ClassUtils.getUserClass(type)));
+        return new DefaultPointcutAdvisor(publicServiceMethods, new Timing(meterRegistry));
+    }
+
+    private static final class Timing implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Map<Method, Timer> succeeded = new ConcurrentHashMap<>();
+
+        Timing(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+            Method method = invocation.getMethod();
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                succeeded.computeIfAbsent(method, m -> timer(registry, m, "success"))
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable ex) {
+                timer(registry, method, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                Counter.builder("cms.service.errors")
+                        .tag("service", method.getDeclaringClass().getSimpleName())
+                        .tag("method", method.getName())
+                        .tag("exception", ex.getClass().getSimpleName())
+                        .register(registry)
+                        .increment();
+                throw ex;
+            }
+        }
+
+        private static Timer timer(MeterRegistry registry, Method method, String outcome) {
+            return Timer.builder("cms.service.calls")
+                    .tag("service", method.getDeclaringClass().getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
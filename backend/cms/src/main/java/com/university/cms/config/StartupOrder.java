@@ -0,0 +1,24 @@
+package com.university.cms.config;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Orders of the {@code ApplicationReadyEvent} listeners. Repairs run first, then the loads that
+ * read what they may have fixed, then the {@link StartupWarmup}; readiness turns UP after the last
+ * listener returns. A ready listener without one of these orders would tie with the warm-up, so
+ * every ready listener takes one.
+ */
+public final class StartupOrder {
+
+    /** Opt-in fixes of stored data (seat recount, standings rebuild). */
+    public static final int REPAIR = 0;
+
+    /** In-memory state built from the database: indexes, the outbox relay and its views. */
+    public static final int LOAD = 100;
+
+    /** Exercises everything above; strictly after it. */
+    public static final int WARM_UP = Ordered.LOWEST_PRECEDENCE;
+
+    private StartupOrder() {
+    }
+}
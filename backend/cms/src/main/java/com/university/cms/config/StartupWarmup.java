@@ -0,0 +1,96 @@
+package com.university.cms.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.UserView;
+import com.university.cms.repositories.CourseRepository;
+import com.university.cms.repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the catalog and enrollment requests of a registration rush to this instance over loopback
+ * before it reports ready, so the JIT, the connection pool and the lazily built parts of the MVC
+ * and Jackson stacks are warm when real traffic arrives. Runs last among the ready listeners
+ * ({@link StartupOrder}), once the in-memory views are loaded;
+ * readiness ({@code /actuator/health/readiness}) only turns UP once it returns.
+ * Read-only: the one write endpoint it calls drops an enrollment that does not exist.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupWarmup {
+
+    private final Environment environment;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    @Value("${cms.warmup.enabled:false}")
+    private boolean enabled;
+    @Value("${cms.warmup.rounds:200}")
+    private int rounds;
+    @Value("${cms.warmup.max-duration:20s}")
+    private Duration maxDuration;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.WARM_UP)
+    public void warmUp() {
+        String port = environment.getProperty("local.server.port");
+        if (!enabled || port == null) {
+            return;
+        }
+        long courseId = courseRepository.findViewsAfter(0L, Limit.of(1)).stream().findFirst().map(CourseView::id).orElse(0L);
+        long studentId = userRepository.findViewsAfter(0L, Limit.of(1)).stream().findFirst().map(UserView::id).orElse(0L);
+        String base = "http://localhost:" + port;
+        List<HttpRequest> mix = List.of(
+                get(base + "/api/courses"),
+                get(base + "/api/courses?size=50"),
+                get(base + "/api/courses/search?q=intro"),
+                get(base + "/api/enrollments/student/" + studentId),
+                get(base + "/api/enrollments/course/" + courseId),
+                get(base + "/api/students/" + studentId + "/dashboard"),
+                HttpRequest.newBuilder(URI.create(base + "/api/enrollments/0")).DELETE().build());
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int sent = 0;
+        int failed = 0;
+        try {
+            for (int round = 0; round < rounds && System.nanoTime() < deadline; round++) {
+                for (HttpRequest request : mix) {
+                    sent++;
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400) {
+                        failed++;
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Warm-up stopped after {} requests", sent, ex);
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        log.info("Warm-up sent {} requests ({} failed) in {} ms", sent, failed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(10)).GET().build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.university.cms.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * One token bucket per key, as a generic cell rate algorithm: each bucket is a single
+ * {@link AtomicLong} holding the theoretical arrival time of the next request, and taking a token
+ * is one compare-and-set that also accounts for the refill since the last call. No locks and no
+ * refill thread. Idle buckets are evicted once they would be full again, so eviction never
+ * forgives a caller anything.
+ */
+final class TokenBuckets<K> {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<K, AtomicLong> buckets;
+
+    /**
+     * @param ratePerSecond sustained tokens per second
+     * @param burst         tokens a full bucket holds
+     * @param maxKeys       buckets kept in memory
+     */
+    TokenBuckets(double ratePerSecond, int burst, long maxKeys) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate must be positive and burst at least 1, was " + ratePerSecond + "/" + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    /** Takes a token for {@code key} at {@code nowNanos}; 0 when granted, otherwise nanos until one is available. */
+    long tryAcquire(K key, long nowNanos) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long debt = next - nowNanos - burstNanos;
+            if (debt > 0) {
+                return debt;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long size() {
+        return buckets.estimatedSize();
+    }
+}
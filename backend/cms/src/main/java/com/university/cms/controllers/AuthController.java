@@ -9,7 +9,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.university.cms.dto.LoginResponse;
+import com.university.cms.dto.UserView;
 import com.university.cms.entities.User;
+import com.university.cms.services.SessionTokenService;
 import com.university.cms.services.UserService;
 
 import lombok.Data;
@@ -22,22 +25,25 @@ import lombok.RequiredArgsConstructor;
 public class AuthController {
 
     private final UserService userService;
+    private final SessionTokenService sessionTokenService;
 
     @PostMapping("/register")
-    public ResponseEntity<User> register(@RequestBody RegisterRequest request) {
+    public ResponseEntity<UserView> register(@RequestBody RegisterRequest request) {
         User user = userService.registerUser(
                 request.getEmail(),
                 request.getUsername(),
                 request.getPassword(),
                 false
         );
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserView.of(user));
     }
 
+    /** Returns the user plus a signed session token for the Authorization: Bearer header */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
         Optional<User> user = userService.login(request.getEmail(), request.getPassword());
-        return user.<ResponseEntity<?>>map(ResponseEntity::ok)
+        return user.<ResponseEntity<?>>map(u -> ResponseEntity.ok(new LoginResponse(
+                        u.getId(), u.getEmail(), u.getUsername(), u.isAdmin(), sessionTokenService.issue(u))))
                 .orElseGet(() -> ResponseEntity.status(401).body("Invalid credentials"));
     }
 
@@ -1,5 +1,10 @@
 package com.university.cms.controllers;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -8,11 +13,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.dto.CatalogSnapshot;
+import com.university.cms.dto.CourseStats;
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.KeysetPage;
+import com.university.cms.dto.SearchPage;
 import com.university.cms.entities.Course;
 import com.university.cms.services.CourseService;
+import com.university.cms.services.SeatAvailabilityFeed;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,25 +39,107 @@ import lombok.RequiredArgsConstructor;
 public class CourseController {
 
     private final CourseService courseService;
+    private final SeatAvailabilityFeed availabilityFeed;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * GET /api/courses — cached catalog bytes; a 304 when If-None-Match lists the current ETag
+     * (each listed tag compared whole, {@code W/} ignored) or is {@code *}
+     */
     @GetMapping
-    public Iterable<Course> listCourses() {
-        return courseService.listAllCourses();
+    public ResponseEntity<byte[]> listCourses(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CatalogSnapshot catalog = courseService.catalog();
+        if (ifNoneMatch != null && matchesAny(ifNoneMatch, catalog.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
     }
 
+    /** GET /api/courses?size=50&after=123[&q=algo] — keyset page ordered by id */
+    @GetMapping(params = "size")
+    public KeysetPage<CourseView> pageCourses(@RequestParam int size,
+                                              @RequestParam(required = false) Long after,
+                                              @RequestParam(required = false) String q) {
+        if (q != null && !q.isBlank()) {
+            return courseService.searchCourses(q, after, size);
+        }
+        return courseService.listCourses(after, size);
+    }
+
+    /** GET /api/courses/search?q=data+str&page=0&size=20 — ranked, served from the in-memory index */
+    @GetMapping("/search")
+    public SearchPage<CourseView> search(@RequestParam String q,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
+        return courseService.findCourses(q, page, size);
+    }
+
+    /** GET /api/courses/stream — whole catalog as NDJSON, written row by row */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamCourses() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            courseService.forEachCourse(writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(NdjsonWriter.NDJSON).body(body);
+    }
+
+    /**
+     * GET /api/courses/availability/stream — Server-Sent Events: a {@code snapshot} of every course's
+     * seats, then coalesced {@code seats} updates for the courses that changed
+     */
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> availability() {
+        SseEmitter emitter = availabilityFeed.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /** GET /api/courses/{id}/stats — enrolled, seats left, grade distribution, mean/median marks */
+    @RequiresAdmin
+    @GetMapping("/{id}/stats")
+    public CourseStats stats(@PathVariable Long id) {
+        return courseService.getCourseStats(id);
+    }
+
+    /** POST /api/courses/stats/rebuild — recompute every course's statistics from the database */
+    @RequiresAdmin
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Void> rebuildStats() {
+        courseService.rebuildCourseStats();
+        return ResponseEntity.noContent().build();
+    }
+
+    @RequiresAdmin
     @PostMapping
-    public ResponseEntity<Course> create(@RequestBody Course course) {
-        return ResponseEntity.ok(courseService.createCourse(course));
+    public ResponseEntity<CourseView> create(@RequestBody Course course) {
+        return ResponseEntity.ok(CourseView.of(courseService.createCourse(course)));
     }
 
+    @RequiresAdmin
     @PutMapping("/{id}")
-    public ResponseEntity<Course> update(@PathVariable Long id, @RequestBody Course updated) {
-        return ResponseEntity.ok(courseService.updateCourse(id, updated));
+    public ResponseEntity<CourseView> update(@PathVariable Long id, @RequestBody Course updated) {
+        return ResponseEntity.ok(CourseView.of(courseService.updateCourse(id, updated)));
     }
 
+    @RequiresAdmin
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         courseService.deleteCourse(id);
         return ResponseEntity.noContent().build();
     }
+
+    /** Weak comparison (RFC 9110, 13.1.2): any tag of the comma-separated list, {@code W/} or not, or {@code *}. */
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
 }
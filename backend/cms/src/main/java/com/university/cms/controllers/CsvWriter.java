@@ -0,0 +1,81 @@
+package com.university.cms.controllers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Writes RFC 4180 CSV straight to a response stream: a header line, then one line per row
+ * as it arrives. Fields containing a comma, quote or line break are quoted.
+ */
+class CsvWriter<T> implements Consumer<T> {
+
+    static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private static final int FLUSH_EVERY = 256;
+
+    private final Writer out;
+    private final List<Function<? super T, ?>> columns;
+    private int pending;
+
+    CsvWriter(OutputStream out, List<String> header, List<Function<? super T, ?>> columns) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        this.columns = columns;
+        writeLine(List.copyOf(header), Function.identity());
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            writeLine(columns, column -> column.apply(row));
+            if (++pending == FLUSH_EVERY) {
+                out.flush();
+                pending = 0;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** Push everything to the client. */
+    void finish() throws IOException {
+        out.flush();
+    }
+
+    private <C> void writeLine(List<C> cells, Function<C, ?> value) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object cell = value.apply(cells.get(i));
+            if (cell != null) {
+                writeField(cell.toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -1,7 +1,13 @@
 package com.university.cms.controllers;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,9 +16,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.dto.EnrollmentOutcome;
 import com.university.cms.services.EnrollmentService;
 
 import lombok.Data;
@@ -24,13 +35,24 @@ import lombok.RequiredArgsConstructor;
 @CrossOrigin(origins = "*")
 public class EnrollmentController {
 
+    private static final List<String> EXPORT_HEADER = List.of("enrollmentId", "studentId", "studentUsername",
+            "courseId", "courseCode", "courseTitle", "enrolledAt", "grade", "marks");
+    private static final List<Function<? super EnrollmentDto, ?>> EXPORT_COLUMNS = List.of(
+            EnrollmentDto::id, EnrollmentDto::studentId, EnrollmentDto::studentUsername,
+            EnrollmentDto::courseId, EnrollmentDto::courseCode, EnrollmentDto::courseTitle,
+            EnrollmentDto::enrolledAt, EnrollmentDto::grade, EnrollmentDto::marks);
+
     private final EnrollmentService enrollmentService;
+    private final ObjectMapper objectMapper;
 
+    /** 200 with the enrollment, or 202 with the student's waitlist position when the course is full */
     @PostMapping("/enroll")
-    public ResponseEntity<EnrollmentDto> enroll(@RequestBody EnrollRequest request) {
-        return ResponseEntity.ok(
-                enrollmentService.enrollStudent(request.getStudentId(), request.getCourseId())
-        );
+    public ResponseEntity<?> enroll(@RequestBody EnrollRequest request) {
+        EnrollmentOutcome outcome = enrollmentService.enrollOrWaitlist(request.getStudentId(), request.getCourseId());
+        if (outcome.enrollment() != null) {
+            return ResponseEntity.ok(outcome.enrollment());
+        }
+        return ResponseEntity.accepted().body(outcome.waitlisted());
     }
 
     @DeleteMapping("/{id}")
@@ -49,6 +71,43 @@ public class EnrollmentController {
         return enrollmentService.getEnrollmentsByCourse(courseId);
     }
 
+    /**
+     * GET /api/enrollments/export?format=csv|ndjson&courseId=&gzip=true — every enrollment with its
+     * result (or one course's), streamed off a database cursor in constant memory
+     */
+    @RequiresAdmin
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(required = false) Long courseId,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean csv = switch (format) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new IllegalArgumentException("Unknown export format: " + format);
+        };
+        StreamingResponseBody body = response -> {
+            OutputStream out = gzip ? new GZIPOutputStream(response, 64 * 1024) : response;
+            if (csv) {
+                CsvWriter<EnrollmentDto> writer = new CsvWriter<>(out, EXPORT_HEADER, EXPORT_COLUMNS);
+                enrollmentService.forEachEnrollment(courseId, writer);
+                writer.finish();
+            } else {
+                NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+                enrollmentService.forEachEnrollment(courseId, writer);
+                writer.finish();
+            }
+            if (out instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+        String filename = "enrollments" + (courseId == null ? "" : "-course-" + courseId) + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : csv ? CsvWriter.CSV : NdjsonWriter.NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(gzip ? filename + ".gz" : filename).build().toString())
+                .body(body);
+    }
+
     @Data
     static class EnrollRequest {
         private Long studentId;
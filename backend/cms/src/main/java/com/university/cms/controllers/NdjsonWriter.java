@@ -0,0 +1,56 @@
+package com.university.cms.controllers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes one JSON document per line straight to a response stream.
+ * Rows are serialized as they arrive, so nothing but the current row is held in memory.
+ */
+class NdjsonWriter implements Consumer<Object> {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int FLUSH_EVERY = 256;
+
+    private final ObjectMapper objectMapper;
+    private final JsonGenerator generator;
+    private int pending;
+    private boolean written;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void accept(Object row) {
+        try {
+            objectMapper.writeValue(generator, row);
+            written = true;
+            if (++pending == FLUSH_EVERY) {
+                generator.flush();
+                pending = 0;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** Terminate the last line and push everything to the client. */
+    void finish() throws IOException {
+        if (written) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
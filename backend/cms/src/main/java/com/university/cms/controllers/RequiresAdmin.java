@@ -0,0 +1,12 @@
+package com.university.cms.controllers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Handler needs an admin session token (checked by AuthInterceptor when cms.auth.enforce=true). */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresAdmin {
+}
@@ -1,9 +1,16 @@
 package com.university.cms.controllers;
 
-import com.university.cms.entities.Result;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+import com.university.cms.dto.BulkReport;
+import com.university.cms.dto.GradeRow;
+import com.university.cms.dto.ResultView;
 import com.university.cms.services.ResultService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,15 +22,30 @@ public class ResultController {
 
     private final ResultService resultService;
 
+    @RequiresAdmin
     @PostMapping("/update")
-    public ResponseEntity<Result> update(@RequestBody ResultRequest request) {
+    public ResponseEntity<ResultView> update(@RequestBody ResultRequest request) {
         return ResponseEntity.ok(
                 resultService.updateResult(request.getEnrollmentId(), request.getGrade(), request.getMarks())
         );
     }
 
+    /** POST /api/results/bulk — JSON array of {enrollmentId, grade, marks} */
+    @RequiresAdmin
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkReport bulk(@RequestBody List<GradeRow> rows) {
+        return resultService.updateResults(rows);
+    }
+
+    /** POST /api/results/bulk — text/csv body, one enrollmentId,grade,marks per line */
+    @RequiresAdmin
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public BulkReport bulkCsv(Reader body) throws IOException {
+        return resultService.updateResultsCsv(body);
+    }
+
     @GetMapping("/{enrollmentId}")
-    public ResponseEntity<Result> getResult(@PathVariable Long enrollmentId) {
+    public ResponseEntity<ResultView> getResult(@PathVariable Long enrollmentId) {
         return ResponseEntity.ok(resultService.getResultByEnrollment(enrollmentId));
     }
 
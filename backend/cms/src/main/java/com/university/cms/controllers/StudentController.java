@@ -0,0 +1,75 @@
+package com.university.cms.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.university.cms.dto.CohortEntry;
+import com.university.cms.dto.StudentDashboard;
+import com.university.cms.dto.Transcript;
+import com.university.cms.dto.WaitlistPosition;
+import com.university.cms.services.EnrollmentService;
+import com.university.cms.services.TranscriptService;
+import com.university.cms.services.WaitlistService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/students")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StudentController {
+
+    private final TranscriptService transcriptService;
+    private final EnrollmentService enrollmentService;
+    private final WaitlistService waitlistService;
+
+    /** GET /api/students/{id}/dashboard — enrollments with results, slim catalog and waitlists in one response */
+    @GetMapping("/{id}/dashboard")
+    public StudentDashboard dashboard(@PathVariable Long id) {
+        return enrollmentService.getDashboard(id);
+    }
+
+    /** GET /api/students/{id}/transcript — courses, grades, credit-weighted GPA and average marks */
+    @GetMapping("/{id}/transcript")
+    public Transcript transcript(@PathVariable Long id) {
+        return transcriptService.getTranscript(id);
+    }
+
+    /** GET /api/students/{id}/waitlists — place in line for every full course the student is waiting on */
+    @GetMapping("/{id}/waitlists")
+    public List<WaitlistPosition> waitlists(@PathVariable Long id) {
+        return waitlistService.positions(id);
+    }
+
+    /** DELETE /api/students/{id}/waitlists/{courseId} — stop waiting for a seat */
+    @DeleteMapping("/{id}/waitlists/{courseId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long id, @PathVariable Long courseId) {
+        waitlistService.leave(id, courseId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** GET /api/students/top?n=20&minCredits=12 — highest GPAs first (dean's list) */
+    @RequiresAdmin
+    @GetMapping("/top")
+    public List<CohortEntry> top(@RequestParam(defaultValue = "20") int n,
+                                 @RequestParam(defaultValue = "0") int minCredits) {
+        return transcriptService.topStudents(n, minCredits);
+    }
+
+    /** POST /api/students/standings/rebuild — recompute every student's running totals from the results */
+    @RequiresAdmin
+    @PostMapping("/standings/rebuild")
+    public ResponseEntity<Void> rebuildStandings() {
+        transcriptService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
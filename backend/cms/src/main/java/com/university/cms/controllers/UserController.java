@@ -1,15 +1,27 @@
 package com.university.cms.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.List;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.university.cms.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.dto.BulkReport;
+import com.university.cms.dto.KeysetPage;
+import com.university.cms.dto.UserView;
 import com.university.cms.services.UserService;
 
 import lombok.Data;
@@ -22,18 +34,53 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     /** GET /api/users — list all users */
+    @RequiresAdmin
     @GetMapping
-    public Iterable<User> list() {
+    public List<UserView> list() {
         return userService.findAll();
     }
 
+    /** GET /api/users?size=100&after=500 — keyset page ordered by id */
+    @RequiresAdmin
+    @GetMapping(params = "size")
+    public KeysetPage<UserView> page(@RequestParam int size, @RequestParam(required = false) Long after) {
+        return userService.findPage(after, size);
+    }
+
+    /** GET /api/users/stream — all users as NDJSON, written row by row */
+    @RequiresAdmin
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            userService.forEachUser(writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(NdjsonWriter.NDJSON).body(body);
+    }
+
+    /** POST /api/users/bulk — JSON array of {email, username, password, admin}, streamed */
+    @RequiresAdmin
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkReport bulk(InputStream body) throws IOException {
+        return userService.provisionUsers(body);
+    }
+
+    /** POST /api/users/bulk — text/csv body, one email,username,password[,admin] per line */
+    @RequiresAdmin
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public BulkReport bulkCsv(Reader body) throws IOException {
+        return userService.provisionUsersCsv(body);
+    }
+
     /** PUT /api/users/{id}/admin — toggle/set admin status */
+    @RequiresAdmin
     @PutMapping("/{id}/admin")
-    public ResponseEntity<User> setAdmin(@PathVariable Long id, @RequestBody UpdateAdminRequest body) {
-        User updated = userService.updateAdminStatus(id, body.isAdmin);
-        return ResponseEntity.ok(updated);
+    public ResponseEntity<UserView> setAdmin(@PathVariable Long id, @RequestBody UpdateAdminRequest body) {
+        return ResponseEntity.ok(UserView.of(userService.updateAdminStatus(id, body.isAdmin)));
     }
 
     @Data
@@ -0,0 +1,36 @@
+package com.university.cms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of a bulk import: how many rows were written and why the others were not. */
+public record BulkReport(
+        int received,
+        int succeeded,
+        List<RowFailure> failures
+) {
+    public record RowFailure(int row, String key, String message) {}
+
+    /** Mutable accumulator used while an import is running. */
+    public static final class Tally {
+        private int received;
+        private int succeeded;
+        private final List<RowFailure> failures = new ArrayList<>();
+
+        public void received() {
+            received++;
+        }
+
+        public void succeeded(int rows) {
+            succeeded += rows;
+        }
+
+        public void failed(int row, Object key, String message) {
+            failures.add(new RowFailure(row, key == null ? null : String.valueOf(key), message));
+        }
+
+        public BulkReport toReport() {
+            return new BulkReport(received, succeeded, List.copyOf(failures));
+        }
+    }
+}
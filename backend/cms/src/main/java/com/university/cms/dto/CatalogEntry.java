@@ -0,0 +1,11 @@
+package com.university.cms.dto;
+
+/** One active course as the student dashboard shows it; {@code enrolled} is for the requesting student. */
+public record CatalogEntry(
+        Long id,
+        String code,
+        String title,
+        Integer credits,
+        int seatsLeft,
+        boolean enrolled
+) {}
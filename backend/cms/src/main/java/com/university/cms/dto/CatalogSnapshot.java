@@ -0,0 +1,11 @@
+package com.university.cms.dto;
+
+/**
+ * The course catalog serialized once, ready to be written to any number of responses.
+ * {@code etag} is a content hash, so every instance derives the same tag for the same catalog.
+ */
+public record CatalogSnapshot(
+        long version,
+        String etag,
+        byte[] json
+) {}
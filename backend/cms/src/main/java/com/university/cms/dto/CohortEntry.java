@@ -0,0 +1,5 @@
+package com.university.cms.dto;
+
+import java.math.BigDecimal;
+
+public record CohortEntry(Long studentId, String username, BigDecimal gpa, int gradedCredits) {}
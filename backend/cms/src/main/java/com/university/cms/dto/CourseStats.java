@@ -0,0 +1,19 @@
+package com.university.cms.dto;
+
+import java.util.Map;
+
+/**
+ * Enrollment and grading summary of one course. {@code medianMarks} is exact to half a mark;
+ * marks figures are null while no result has marks.
+ */
+public record CourseStats(
+        Long courseId,
+        int capacity,
+        int enrolled,
+        int seatsLeft,
+        int graded,
+        Map<String, Integer> gradeDistribution,
+        int marked,
+        Double meanMarks,
+        Double medianMarks
+) {}
@@ -0,0 +1,19 @@
+package com.university.cms.dto;
+
+import com.university.cms.entities.Course;
+
+/** A course as the API returns it; the seat counter stays out (live seats come from the availability feed). */
+public record CourseView(
+        Long id,
+        String code,
+        String title,
+        String description,
+        Integer credits,
+        Integer capacity,
+        boolean active
+) {
+    public static CourseView of(Course course) {
+        return new CourseView(course.getId(), course.getCode(), course.getTitle(), course.getDescription(),
+                course.getCredits(), course.getCapacity(), course.isActive());
+    }
+}
@@ -0,0 +1,15 @@
+package com.university.cms.dto;
+
+/** Either the new enrollment or, when the course was full, the student's place on its waitlist. */
+public record EnrollmentOutcome(
+        EnrollmentDto enrollment,
+        WaitlistPosition waitlisted
+) {
+    public static EnrollmentOutcome enrolled(EnrollmentDto enrollment) {
+        return new EnrollmentOutcome(enrollment, null);
+    }
+
+    public static EnrollmentOutcome waitlisted(WaitlistPosition position) {
+        return new EnrollmentOutcome(null, position);
+    }
+}
@@ -0,0 +1,10 @@
+package com.university.cms.dto;
+
+import java.math.BigDecimal;
+
+/** One line of a bulk grade upload. */
+public record GradeRow(
+        Long enrollmentId,
+        String grade,
+        BigDecimal marks
+) {}
@@ -0,0 +1,11 @@
+package com.university.cms.dto;
+
+import java.math.BigDecimal;
+
+/** An enrollment's student, course (with its credits) and current result (grade and marks null when not graded yet). */
+public record GradeState(Long enrollmentId, Long studentId, Long courseId, int credits, String grade, BigDecimal marks) {
+
+    public GradeState withResult(String grade, BigDecimal marks) {
+        return new GradeState(enrollmentId, studentId, courseId, credits, grade, marks);
+    }
+}
@@ -0,0 +1,22 @@
+package com.university.cms.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) listing ordered by id.
+ * Pass {@code nextCursor} back as {@code after} to get the following page; it is null on the last page.
+ */
+public record KeysetPage<T>(
+        List<T> items,
+        Long nextCursor
+) {
+    /** Build a page from {@code size + 1} fetched rows; the extra row only signals that more exist. */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new KeysetPage<>(List.copyOf(items), idOf.apply(items.get(size - 1)));
+    }
+}
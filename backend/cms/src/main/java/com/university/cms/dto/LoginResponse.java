@@ -0,0 +1,10 @@
+package com.university.cms.dto;
+
+/** Login result: the user's public fields plus the session token to send as {@code Authorization: Bearer}. */
+public record LoginResponse(
+        Long id,
+        String email,
+        String username,
+        boolean admin,
+        String token
+) {}
@@ -0,0 +1,10 @@
+package com.university.cms.dto;
+
+import java.math.BigDecimal;
+
+public record ResultView(
+        Long id,
+        Long enrollmentId,
+        String grade,
+        BigDecimal marks
+) {}
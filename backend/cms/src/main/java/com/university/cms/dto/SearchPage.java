@@ -0,0 +1,11 @@
+package com.university.cms.dto;
+
+import java.util.List;
+
+/** One page of ranked search hits; {@code total} counts every hit, not just this page. */
+public record SearchPage<T>(
+        List<T> items,
+        int page,
+        int size,
+        long total
+) {}
@@ -0,0 +1,8 @@
+package com.university.cms.dto;
+
+/** Who is calling, as resolved from a session token. {@code expiresAt} is epoch seconds. */
+public record SessionPrincipal(
+        Long userId,
+        boolean admin,
+        long expiresAt
+) {}
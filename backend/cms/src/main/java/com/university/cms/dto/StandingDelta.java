@@ -0,0 +1,14 @@
+package com.university.cms.dto;
+
+/** Change to a student's running totals; same units as {@code StudentStanding}. */
+public record StandingDelta(Long studentId, int gradedCredits, long qualityPoints, int markedCredits, long weightedMarks) {
+
+    public boolean isZero() {
+        return gradedCredits == 0 && qualityPoints == 0 && markedCredits == 0 && weightedMarks == 0;
+    }
+
+    public StandingDelta plus(StandingDelta other) {
+        return new StandingDelta(studentId, gradedCredits + other.gradedCredits, qualityPoints + other.qualityPoints,
+                markedCredits + other.markedCredits, weightedMarks + other.weightedMarks);
+    }
+}
@@ -0,0 +1,11 @@
+package com.university.cms.dto;
+
+import java.util.List;
+
+/** Everything the student pages need on load, in one response. */
+public record StudentDashboard(
+        Long studentId,
+        List<EnrollmentDto> enrollments,
+        List<CatalogEntry> catalog,
+        List<WaitlistPosition> waitlists
+) {}
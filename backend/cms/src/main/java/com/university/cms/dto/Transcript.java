@@ -0,0 +1,12 @@
+package com.university.cms.dto;
+
+import java.util.List;
+
+/** A student's courses plus credit-weighted GPA (4.0 scale) and average marks; null until graded. */
+public record Transcript(
+        Long studentId,
+        List<TranscriptLine> courses,
+        int gradedCredits,
+        Double gpa,
+        Double weightedMarks
+) {}
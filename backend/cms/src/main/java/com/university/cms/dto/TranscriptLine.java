@@ -0,0 +1,14 @@
+package com.university.cms.dto;
+
+import java.time.LocalDateTime;
+
+public record TranscriptLine(
+        Long enrollmentId,
+        Long courseId,
+        String courseCode,
+        String courseTitle,
+        Integer credits,
+        LocalDateTime enrolledAt,
+        String grade,
+        Double marks
+) {}
@@ -0,0 +1,9 @@
+package com.university.cms.dto;
+
+/** One user of a bulk provisioning upload; {@code admin} defaults to false. */
+public record UserRow(
+        String email,
+        String username,
+        String password,
+        Boolean admin
+) {}
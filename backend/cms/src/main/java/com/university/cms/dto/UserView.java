@@ -0,0 +1,15 @@
+package com.university.cms.dto;
+
+import com.university.cms.entities.User;
+
+/** A user as the API returns it: never the password. */
+public record UserView(
+        Long id,
+        String email,
+        String username,
+        boolean admin
+) {
+    public static UserView of(User user) {
+        return new UserView(user.getId(), user.getEmail(), user.getUsername(), user.isAdmin());
+    }
+}
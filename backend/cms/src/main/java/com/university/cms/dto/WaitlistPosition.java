@@ -0,0 +1,6 @@
+package com.university.cms.dto;
+
+import java.time.LocalDateTime;
+
+/** {@code position} is 1-based: 1 means the next freed seat goes to this student. */
+public record WaitlistPosition(Long entryId, Long studentId, Long courseId, int position, LocalDateTime joinedAt) {}
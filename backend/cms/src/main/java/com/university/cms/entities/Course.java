@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -15,6 +17,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
   name = "courses",
   uniqueConstraints = @UniqueConstraint(name = "uk_courses_code", columnNames = "code")
 )
+@DynamicUpdate // only write changed columns so edits never overwrite the seat counter
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Course {
 
@@ -41,6 +44,12 @@ public class Course {
   @Column(nullable = false)
   private Integer capacity = 100;
 
+  // seats taken; only ever changed through CourseRepository.reserveSeat/releaseSeat.
+  // Not part of the course JSON: that is cached catalog data, live seat counts change per enrollment.
+  @Column(nullable = false)
+  @JsonIgnore
+  private int enrolled;
+
   @Column(nullable = false)
   private boolean active = true;
 
@@ -0,0 +1,26 @@
+package com.university.cms.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** A {@code DomainEvent} written in the same transaction as the change it describes. */
+@Entity
+@Table(name = "outbox_events")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;            // delivery order
+
+  @Column(nullable = false, length = 40)
+  private String type;
+
+  @Column(nullable = false, columnDefinition = "text")
+  private String payload;     // JSON of the event record
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.university.cms.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Last outbox event a durable consumer has processed. */
+@Entity
+@Table(name = "outbox_offsets")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OutboxOffset {
+
+  @Id
+  @Column(length = 64)
+  private String consumer;
+
+  @Column(nullable = false)
+  private long position;      // outbox_events.id
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.university.cms.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Running, credit-weighted totals of one student's graded enrollments. Maintained incrementally
+ * by {@code TranscriptService} (native upserts that add deltas), so GPAs and rankings never
+ * re-aggregate the results table.
+ */
+@Entity
+@Table(
+  name = "student_standings",
+  indexes = @Index(name = "ix_standings_gpa", columnList = "gpa desc, student_id")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class StudentStanding {
+
+  @Id
+  @Column(name = "student_id")
+  private Long studentId;
+
+  @MapsId
+  @OneToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "student_id", foreignKey = @ForeignKey(name = "fk_standings_student"))
+  private User student;
+
+  @Column(nullable = false)
+  private int gradedCredits;      // credits of results whose grade carries grade points
+
+  @Column(nullable = false)
+  private long qualityPoints;     // sum of credits * grade points, in hundredths
+
+  @Column(nullable = false)
+  private int markedCredits;      // credits of results with marks
+
+  @Column(nullable = false)
+  private long weightedMarks;     // sum of credits * marks, in hundredths
+
+  @Column(precision = 4, scale = 3)
+  private BigDecimal gpa;         // qualityPoints / gradedCredits, null until something is graded
+}
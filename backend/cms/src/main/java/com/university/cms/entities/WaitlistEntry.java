@@ -0,0 +1,45 @@
+package com.university.cms.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A student queued for a full course. The id is the place in line: the lowest id of a course
+ * gets the next seat that frees up. Rows go away with their course or student.
+ */
+@Entity
+@Table(
+  name = "waitlist_entries",
+  uniqueConstraints = @UniqueConstraint(
+    name = "uk_waitlist_student_course",
+    columnNames = {"student_id", "course_id"}
+  ),
+  indexes = @Index(name = "ix_waitlist_course", columnList = "course_id, id")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class WaitlistEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;            // queue order within the course
+
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "student_id", nullable = false,
+              foreignKey = @ForeignKey(name = "fk_waitlist_student"))
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private User student;
+
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "course_id", nullable = false,
+              foreignKey = @ForeignKey(name = "fk_waitlist_course"))
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Course course;
+
+  @Column(nullable = false)
+  private LocalDateTime joinedAt;
+}
@@ -0,0 +1,40 @@
+package com.university.cms.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Facts about committed writes, recorded in the outbox by the transaction that made them and
+ * delivered to {@link DomainEventConsumer}s in commit order by the {@link OutboxRelay}.
+ */
+public sealed interface DomainEvent {
+
+    /** Stored in {@code outbox_events.type}; maps back to the record class when replaying. */
+    Map<String, Class<? extends DomainEvent>> TYPES = Map.of(
+            "EnrollmentCreated", EnrollmentCreated.class,
+            "EnrollmentDropped", EnrollmentDropped.class,
+            "ResultUpdated", ResultUpdated.class,
+            "CourseChanged", CourseChanged.class,
+            "WaitlistJoined", WaitlistJoined.class,
+            "WaitlistLeft", WaitlistLeft.class);
+
+    record EnrollmentCreated(Long enrollmentId, Long studentId, Long courseId) implements DomainEvent {}
+
+    /** {@code grade}/{@code marks} are those of the result deleted with the enrollment, if any. */
+    record EnrollmentDropped(Long enrollmentId, Long studentId, Long courseId, String grade, BigDecimal marks)
+            implements DomainEvent {}
+
+    /** Old values are null when the enrollment had no result yet. */
+    record ResultUpdated(Long enrollmentId, Long studentId, Long courseId,
+                         String oldGrade, BigDecimal oldMarks, String grade, BigDecimal marks) implements DomainEvent {}
+
+    record CourseChanged(Long courseId, Change change, int capacity) implements DomainEvent {
+        public enum Change { CREATED, UPDATED, DELETED }
+    }
+
+    record WaitlistJoined(Long entryId, Long studentId, Long courseId, LocalDateTime joinedAt) implements DomainEvent {}
+
+    /** {@code promoted} when the student left the queue for a seat in the course. */
+    record WaitlistLeft(Long entryId, Long studentId, Long courseId, boolean promoted) implements DomainEvent {}
+}
@@ -0,0 +1,33 @@
+package com.university.cms.events;
+
+import java.util.List;
+
+/**
+ * A derived view fed from the outbox. Each consumer runs on its own thread and gets events in
+ * batches, in commit order; a slow consumer delays only itself until the ring buffer fills up.
+ */
+public interface DomainEventConsumer {
+
+    /** Stable name, used for the thread and, for durable consumers, the stored offset. */
+    String name();
+
+    void accept(List<DomainEvent> events);
+
+    /**
+     * Reload the view from the database, with the queries run through {@code snapshot} so the relay
+     * can skip the events they already reflect. Called by the relay before the first delivery and on
+     * {@link OutboxRelay#rebuild}, never at the same time as {@link #accept}. Views that start empty
+     * keep the default.
+     */
+    default void rebuild(OutboxSnapshot snapshot) {
+    }
+
+    /**
+     * Durable consumers (side effects outside this process) resume after their stored offset on
+     * restart, replaying what they missed. Others are in-memory views {@link #rebuild rebuilt} at
+     * startup that only see events their rebuild did not.
+     */
+    default boolean durable() {
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.university.cms.events;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.entities.OutboxEvent;
+import com.university.cms.repositories.OutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/** Records domain events in the outbox as part of the caller's transaction. */
+@Component
+@RequiredArgsConstructor
+public class DomainEvents {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+
+    public void publish(DomainEvent event) {
+        publishAll(List.of(event));
+    }
+
+    /** One batched insert; the relay is woken once the transaction commits. */
+    public void publishAll(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Domain events must be published inside the transaction that makes the change");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> rows = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            rows.add(OutboxEvent.builder()
+                    .type(event.getClass().getSimpleName())
+                    .payload(toJson(event))
+                    .createdAt(now)
+                    .build());
+        }
+        outboxRepository.appendAll(rows);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.wake();
+            }
+        });
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + event, ex);
+        }
+    }
+}
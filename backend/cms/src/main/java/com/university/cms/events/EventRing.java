@@ -0,0 +1,86 @@
+package com.university.cms.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded single-producer, multi-consumer ring of events. Every consumer reads every event
+ * through its own cursor; the producer blocks once the slowest consumer is a full ring behind.
+ * Hand-offs are per batch, so the monitor is taken once per batch rather than per event.
+ */
+final class EventRing {
+
+    /** An event with its outbox id. */
+    record Envelope(long position, DomainEvent event) {}
+
+    private final Envelope[] slots;
+    private final long[] next;          // per consumer: sequence of the next event to read
+    private long published = -1;        // sequence of the last published event
+    private boolean closed;
+
+    EventRing(int capacity, int consumers) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two");
+        }
+        this.slots = new Envelope[capacity];
+        this.next = new long[consumers];
+    }
+
+    /** Publishes the batch in order, waiting for the slowest consumer whenever the ring is full. */
+    synchronized void publish(List<Envelope> batch) throws InterruptedException {
+        for (Envelope envelope : batch) {
+            while (published + 1 - slowest() >= slots.length) {
+                if (closed) {
+                    return;
+                }
+                notifyAll(); // let consumers see what is already published before waiting for them
+                wait();
+            }
+            published++;
+            slots[(int) (published & (slots.length - 1))] = envelope;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Up to {@code max} events for the consumer, waiting while there are none. Returns an empty list
+     * once closed. The events stay reserved until {@link #done}.
+     */
+    synchronized List<Envelope> take(int consumer, int max) throws InterruptedException {
+        while (next[consumer] > published && !closed) {
+            wait();
+        }
+        if (closed) {
+            return List.of();
+        }
+        int count = (int) Math.min(max, published - next[consumer] + 1);
+        List<Envelope> batch = new ArrayList<>(count);
+        for (long seq = next[consumer]; seq < next[consumer] + count; seq++) {
+            batch.add(slots[(int) (seq & (slots.length - 1))]);
+        }
+        return batch;
+    }
+
+    synchronized void done(int consumer, int count) {
+        next[consumer] += count;
+        notifyAll();
+    }
+
+    /** Free slots, as seen by the producer. */
+    synchronized int remaining() {
+        return (int) (slots.length - (published + 1 - slowest()));
+    }
+
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    private long slowest() {
+        long slowest = published + 1;
+        for (long n : next) {
+            slowest = Math.min(slowest, n);
+        }
+        return slowest;
+    }
+}
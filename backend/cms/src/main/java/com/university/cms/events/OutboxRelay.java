@@ -0,0 +1,382 @@
+package com.university.cms.events;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.config.StartupOrder;
+import com.university.cms.entities.OutboxEvent;
+import com.university.cms.entities.OutboxOffset;
+import com.university.cms.repositories.OutboxOffsetRepository;
+import com.university.cms.repositories.OutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves committed outbox rows into an {@link EventRing} that every {@link DomainEventConsumer}
+ * reads on its own thread. The write path only inserts outbox rows and wakes this relay after
+ * commit; consumers never run on request threads, so adding one does not slow writes down.
+ *
+ * Identity ids are handed out before commit, so a missing id may still be in flight: the relay
+ * stops at such a gap until it has waited {@code cms.outbox.gap-timeout} for it, then takes it for
+ * a rollback. A full ring stalls the relay (backpressure), never the writers, since the outbox
+ * holds everything.
+ *
+ * The relay also runs each consumer's {@link DomainEventConsumer#rebuild rebuild}, at startup before
+ * any delivery and later on request, while that consumer is not being delivered to. The rebuild's
+ * {@link OutboxSnapshot} tells which events it already reflects, and those are skipped. At startup
+ * the relay begins a gap timeout behind the newest event, so transactions still in flight while
+ * the views load are not missed.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final int DELIVERY_ATTEMPTS = 3;
+    private static final Duration PRUNE_EVERY = Duration.ofMinutes(10);
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final ObjectProvider<DomainEventConsumer> consumerProvider;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshotTransaction;
+
+    private final int ringSize;
+    private final int readBatch;
+    private final int consumerBatch;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    private volatile long position;
+    private EventRing ring;
+    private AtomicLongArray delivered;
+    private Map<String, Subscription> subscriptions = Map.of();
+
+    // relay thread only: the missing id the relay is stopped at, and since when
+    private long gapAt;
+    private long gapSinceNanos;
+
+    /** A consumer and what its last rebuild covered; delivery and rebuilds take turns on the lock. */
+    private static final class Subscription {
+        final DomainEventConsumer consumer;
+        final ReentrantLock lock = new ReentrantLock();
+        OutboxSnapshot cut; // guarded by lock
+
+        Subscription(DomainEventConsumer consumer) {
+            this.consumer = consumer;
+        }
+    }
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       OutboxOffsetRepository offsetRepository,
+                       ObjectProvider<DomainEventConsumer> consumerProvider,
+                       ObjectProvider<MeterRegistry> meterRegistry,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${cms.outbox.ring-size:8192}") int ringSize,
+                       @Value("${cms.outbox.read-batch:500}") int readBatch,
+                       @Value("${cms.outbox.consumer-batch:256}") int consumerBatch,
+                       @Value("${cms.outbox.poll-interval:200ms}") Duration pollInterval,
+                       @Value("${cms.outbox.gap-timeout:5s}") Duration gapTimeout,
+                       @Value("${cms.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.offsetRepository = offsetRepository;
+        this.consumerProvider = consumerProvider;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.ringSize = ringSize;
+        this.readBatch = readBatch;
+        this.consumerBatch = consumerBatch;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.LOAD)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        List<DomainEventConsumer> consumers = consumerProvider.orderedStream().toList();
+        long head = outboxRepository.findMaxId();
+        long settled = Math.min(head, outboxRepository.findMaxIdCreatedBefore(LocalDateTime.now().minus(gapTimeout)));
+        long[] offsets = new long[consumers.size()];
+        long start = settled;
+        for (int i = 0; i < consumers.size(); i++) {
+            DomainEventConsumer consumer = consumers.get(i);
+            offsets[i] = consumer.durable()
+                    ? offsetRepository.findById(consumer.name()).map(OutboxOffset::getPosition).orElse(head)
+                    : settled;
+            start = Math.min(start, offsets[i]);
+        }
+        position = start;
+        ring = new EventRing(ringSize, consumers.size());
+        delivered = new AtomicLongArray(offsets);
+        Map<String, Subscription> byName = new LinkedHashMap<>();
+        consumers.forEach(consumer -> byName.put(consumer.name(), new Subscription(consumer)));
+        subscriptions = byName;
+        byName.values().forEach(this::rebuild); // before any thread runs, so the views are loaded once we are ready
+        running = true;
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("cms.outbox.position", this, relay -> relay.position).register(registry);
+            Gauge.builder("cms.outbox.ring.remaining", ring, EventRing::remaining).register(registry);
+        });
+        for (int i = 0; i < consumers.size(); i++) {
+            int index = i;
+            Subscription subscription = byName.get(consumers.get(i).name());
+            threads.add(daemon("outbox-" + subscription.consumer.name(), () -> consume(index, subscription, offsets[index])));
+        }
+        threads.add(daemon("outbox-relay", this::relay));
+        threads.forEach(Thread::start);
+        log.info("Outbox relay started at event {} with consumers {}", start,
+                consumers.stream().map(DomainEventConsumer::name).toList());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        ring.close();
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        threads.clear();
+    }
+
+    /**
+     * Reloads the consumer from the database; events its snapshot reflects are not delivered to it
+     * again. Waits for the batch being delivered to it, if any.
+     */
+    public void rebuild(DomainEventConsumer consumer) {
+        Subscription subscription = subscriptions.get(consumer.name());
+        if (subscription == null) { // not started: no deliveries to coordinate with
+            consumer.rebuild(new OutboxSnapshot(snapshotTransaction, null, 0));
+            return;
+        }
+        rebuild(subscription);
+    }
+
+    private void rebuild(Subscription subscription) {
+        subscription.lock.lock();
+        try {
+            // everything up to here is published, so it committed before the snapshot's transaction begins
+            OutboxSnapshot snapshot = new OutboxSnapshot(snapshotTransaction, outboxRepository, position);
+            subscription.consumer.rebuild(snapshot);
+            subscription.cut = snapshot;
+        } finally {
+            subscription.lock.unlock();
+        }
+    }
+
+    /** Called after a transaction that appended events commits. */
+    void wake() {
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    private void relay() {
+        Counter relayed = meterRegistry.getIfAvailable() == null ? null
+                : Counter.builder("cms.outbox.relayed").register(meterRegistry.getIfAvailable());
+        long lastPrune = System.nanoTime();
+        while (running) {
+            try {
+                boolean caughtUp = relayBatch(relayed);
+                if (System.nanoTime() - lastPrune > PRUNE_EVERY.toNanos()) {
+                    prune();
+                    lastPrune = System.nanoTime();
+                }
+                if (caughtUp) {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Outbox relay failed at event {}, retrying", position, ex);
+                sleepQuietly(pollInterval);
+            }
+        }
+    }
+
+    /** Publishes the next committed run of events; true when there is nothing more to read right now. */
+    private boolean relayBatch(Counter relayed) throws InterruptedException {
+        List<OutboxEvent> rows = outboxRepository.findByIdGreaterThanOrderByIdAsc(position, Limit.of(readBatch));
+        List<EventRing.Envelope> ready = new ArrayList<>(rows.size());
+        long last = position;
+        boolean atGap = false;
+        for (OutboxEvent row : rows) {
+            if (row.getId() != last + 1 && !abandon(last + 1, row.getId())) {
+                atGap = true; // the missing id may belong to a transaction that has not committed yet
+                break;
+            }
+            DomainEvent event = decode(row);
+            if (event != null) {
+                ready.add(new EventRing.Envelope(row.getId(), event));
+            }
+            last = row.getId();
+        }
+        if (!ready.isEmpty()) {
+            ring.publish(ready);
+            if (relayed != null) {
+                relayed.increment(ready.size());
+            }
+        }
+        position = last;
+        return atGap || rows.size() < readBatch;
+    }
+
+    /**
+     * Whether to give up on the ids {@code missing} up to {@code next}: only once the relay has been
+     * stopped at {@code missing} for the gap timeout. How old the later rows are says nothing about
+     * when the missing transaction will commit.
+     */
+    private boolean abandon(long missing, long next) {
+        long now = System.nanoTime();
+        if (gapAt != missing) {
+            gapAt = missing;
+            gapSinceNanos = now;
+        }
+        if (now - gapSinceNanos < gapTimeout.toNanos()) {
+            return false;
+        }
+        log.warn("Outbox events {}..{} did not commit within {}, treating them as rolled back", missing, next - 1, gapTimeout);
+        return true;
+    }
+
+    private void consume(int index, Subscription subscription, long skipUpTo) {
+        DomainEventConsumer consumer = subscription.consumer;
+        Counter failures = meterRegistry.getIfAvailable() == null ? null
+                : Counter.builder("cms.outbox.consumer.failures").tag("consumer", consumer.name())
+                        .register(meterRegistry.getIfAvailable());
+        try {
+            while (running) {
+                List<EventRing.Envelope> batch = ring.take(index, consumerBatch);
+                if (batch.isEmpty()) {
+                    return; // closed
+                }
+                subscription.lock.lock();
+                try {
+                    List<DomainEvent> events = new ArrayList<>(batch.size());
+                    for (EventRing.Envelope envelope : batch) {
+                        // skipUpTo: a durable consumer replaying from an older offset; cut: already in its rebuild
+                        long id = envelope.position();
+                        if (id > skipUpTo && (subscription.cut == null || !subscription.cut.covers(id))) {
+                            events.add(envelope.event());
+                        }
+                    }
+                    if (!events.isEmpty() && !deliver(consumer, events) && failures != null) {
+                        failures.increment();
+                    }
+                } finally {
+                    subscription.lock.unlock();
+                }
+                long last = batch.get(batch.size() - 1).position();
+                delivered.set(index, last);
+                if (consumer.durable()) {
+                    offsetRepository.save(new OutboxOffset(consumer.name(), last, LocalDateTime.now()));
+                }
+                ring.done(index, batch.size());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** At most {@value #DELIVERY_ATTEMPTS} tries, then the batch is logged and skipped. */
+    private boolean deliver(DomainEventConsumer consumer, List<DomainEvent> events) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                consumer.accept(events);
+                return true;
+            } catch (RuntimeException ex) {
+                if (attempt == DELIVERY_ATTEMPTS) {
+                    log.error("Consumer {} failed on {} events, skipping them", consumer.name(), events.size(), ex);
+                    return false;
+                }
+                log.warn("Consumer {} failed (attempt {}), retrying", consumer.name(), attempt, ex);
+            }
+        }
+    }
+
+    private void prune() {
+        long deliveredUpTo = position;
+        for (int i = 0; i < delivered.length(); i++) {
+            deliveredUpTo = Math.min(deliveredUpTo, delivered.get(i));
+        }
+        int pruned = outboxRepository.prune(deliveredUpTo, LocalDateTime.now().minus(retention));
+        if (pruned > 0) {
+            log.debug("Pruned {} delivered outbox events", pruned);
+        }
+    }
+
+    private DomainEvent decode(OutboxEvent row) {
+        Class<? extends DomainEvent> type = DomainEvent.TYPES.get(row.getType());
+        if (type == null) {
+            log.warn("Skipping outbox event {} of unknown type {}", row.getId(), row.getType());
+            return null;
+        }
+        try {
+            return objectMapper.readValue(row.getPayload(), type);
+        } catch (JsonProcessingException ex) {
+            log.warn("Skipping unreadable outbox event {}", row.getId(), ex);
+            return null;
+        }
+    }
+
+    private static Thread daemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.university.cms.events;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.cms.repositories.OutboxRepository;
+
+/**
+ * The database reads of one {@link DomainEventConsumer#rebuild}, pinned to a position in the outbox.
+ *
+ * {@link #read} runs the consumer's queries in one repeatable-read transaction on the primary,
+ * together with the ids of the outbox events visible to it above the relay's position. Events at
+ * or below that position had committed before the transaction started; the others listed here are
+ * in the same snapshot. The relay skips both kinds for this consumer afterwards, and delivers the
+ * rest (still in flight when the snapshot was taken), so nothing is applied twice or lost.
+ */
+public final class OutboxSnapshot {
+
+    private final TransactionTemplate transaction;
+    private final OutboxRepository outboxRepository; // null when the relay is not running: nothing to cut against
+    private final long floor;
+    private Set<Long> seenAbove = Set.of();
+    private boolean read;
+
+    OutboxSnapshot(TransactionTemplate transaction, OutboxRepository outboxRepository, long floor) {
+        this.transaction = transaction;
+        this.outboxRepository = outboxRepository;
+        this.floor = floor;
+    }
+
+    /** Runs {@code query} in the snapshot's transaction; once per rebuild. */
+    public <T> T read(Supplier<T> query) {
+        if (read) {
+            throw new IllegalStateException("A rebuild reads its snapshot once; put every query in the same read");
+        }
+        read = true;
+        return transaction.execute(status -> {
+            if (outboxRepository != null) { // first, so the consumer's queries see the same snapshot
+                seenAbove = new HashSet<>(outboxRepository.findIdsAfter(floor));
+            }
+            return query.get();
+        });
+    }
+
+    /** Whether the event with this outbox id is already reflected in what {@link #read} returned. */
+    boolean covers(long position) {
+        return read && (position <= floor || seenAbove.contains(position));
+    }
+}
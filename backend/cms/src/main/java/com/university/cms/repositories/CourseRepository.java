@@ -1,15 +1,38 @@
 package com.university.cms.repositories;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.university.cms.dto.CatalogEntry;
+import com.university.cms.dto.CourseView;
 import com.university.cms.entities.Course;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    /** Course columns straight into the response record; no entity, no persistence-context snapshot. */
+    String VIEW_SELECT = """
+           select new com.university.cms.dto.CourseView(
+                  c.id, c.code, c.title, c.description, c.credits, c.capacity, c.active)
+           from Course c
+           """;
+
     Optional<Course> findByCode(String code);
 
     @Query("""
@@ -18,4 +41,64 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
               or lower(c.code)  like lower(concat('%', :q, '%'))
            """)
     Page<Course> search(String q, Pageable pageable);
+
+    /** Keyset variant of {@link #search}: seeks past {@code afterId} on the primary key instead of OFFSET. */
+    @Query(VIEW_SELECT + """
+           where c.id > :afterId
+             and (lower(c.title) like lower(concat('%', :q, '%'))
+              or lower(c.code)  like lower(concat('%', :q, '%')))
+           order by c.id
+           """)
+    List<CourseView> searchAfter(String q, Long afterId, Limit limit);
+
+    @Query(VIEW_SELECT + "where c.id > :afterId order by c.id")
+    List<CourseView> findViewsAfter(Long afterId, Limit limit);
+
+    @Query(VIEW_SELECT + "order by c.id")
+    List<CourseView> findAllViews();
+
+    /** Forward-only cursor over the whole catalog; must be consumed inside a transaction and closed. */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT + "order by c.id")
+    Stream<CourseView> streamAll();
+
+    /** SELECT ... FOR UPDATE in id order, so concurrent batches always lock courses in the same order. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.id in :ids order by c.id")
+    List<Course> lockAllById(Collection<Long> ids);
+
+    /** Take one seat if there is one left; returns 1 on success, 0 if full or missing. */
+    @Modifying
+    @Query("update Course c set c.enrolled = c.enrolled + 1 where c.id = :id and c.enrolled < c.capacity")
+    int reserveSeat(Long id);
+
+    /** Give one seat back; never goes below zero. */
+    @Modifying
+    @Query("update Course c set c.enrolled = c.enrolled - 1 where c.id = :id and c.enrolled > 0")
+    int releaseSeat(Long id);
+
+    /** Recount seats from the enrollments table (repair path for the persisted counter). */
+    @Modifying
+    @Query("update Course c set c.enrolled = (select count(e) from Enrollment e where e.course = c)")
+    int recountSeats();
+
+    /** {@code [courseId, capacity, enrolled]} per course, enrolled counted from the enrollments table. */
+    @Query("select c.id, c.capacity, (select count(e) from Enrollment e where e.course = c) from Course c")
+    List<Object[]> findSeatCounts();
+
+    /** Active courses without descriptions, each flagged when the student is enrolled (probes uk_enrollment_student_course). */
+    @Query("""
+           select new com.university.cms.dto.CatalogEntry(
+                  c.id, c.code, c.title, c.credits,
+                  case when c.enrolled < c.capacity then c.capacity - c.enrolled else 0 end,
+                  case when exists (select 1 from Enrollment e where e.course = c and e.student.id = :studentId)
+                       then true else false end)
+           from Course c
+           where c.active = true
+           order by c.id
+           """)
+    List<CatalogEntry> findCatalogFor(Long studentId);
 }
@@ -1,17 +1,86 @@
 package com.university.cms.repositories;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.dto.TranscriptLine;
 import com.university.cms.entities.Enrollment;
 
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+import jakarta.persistence.QueryHint;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, EnrollmentRepositoryCustom {
+
+    /** Flat enrollment row: one statement joining users, courses and results, no entities loaded. */
+    String DTO_SELECT = """
+           select new com.university.cms.dto.EnrollmentDto(
+                  e.id, s.id, s.username, c.id, c.code, c.title, e.enrolledAt,
+                  r.grade, cast(r.marks as Double))
+           from Enrollment e
+           join e.student s
+           join e.course c
+           left join e.result r
+           """;
+
+    // Enrollment.result is the inverse side of a one-to-one and cannot be proxied: Hibernate selects it
+    // once per loaded enrollment unless the query fetches it, so the entity finders below all do.
+
     Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    @Query("select e from Enrollment e left join fetch e.result where e.student.id = :studentId")
     List<Enrollment> findByStudentId(Long studentId);
+
+    @Query("select e from Enrollment e left join fetch e.result where e.course.id = :courseId")
     List<Enrollment> findByCourseId(Long courseId);
 
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
     long countByCourseId(Long courseId);
+
+    @Query("""
+           select e from Enrollment e left join fetch e.result
+           where e.course.id in :courseIds and e.student.id in :studentIds
+           """)
+    List<Enrollment> findByCourseIdInAndStudentIdIn(Collection<Long> courseIds, Collection<Long> studentIds);
+
+    @Query("select e.id from Enrollment e where e.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @Query(DTO_SELECT + "where s.id = :studentId order by e.id")
+    List<EnrollmentDto> findDtosByStudentId(Long studentId);
+
+    @Query(DTO_SELECT + "where c.id = :courseId order by e.id")
+    List<EnrollmentDto> findDtosByCourseId(Long courseId);
+
+    /**
+     * Forward-only cursor over flat enrollment rows after {@code afterId}, optionally for one course;
+     * must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(DTO_SELECT + "where e.id > :afterId and (:courseId is null or c.id = :courseId) order by e.id")
+    Stream<EnrollmentDto> streamDtos(Long courseId, Long afterId, Limit limit);
+
+    @Query("""
+           select new com.university.cms.dto.TranscriptLine(
+                  e.id, c.id, c.code, c.title, c.credits, e.enrolledAt, r.grade, cast(r.marks as Double))
+           from Enrollment e
+           join e.course c
+           left join e.result r
+           where e.student.id = :studentId
+           order by e.enrolledAt, e.id
+           """)
+    List<TranscriptLine> findTranscriptLines(Long studentId);
 }
@@ -0,0 +1,12 @@
+package com.university.cms.repositories;
+
+import java.util.List;
+
+import com.university.cms.entities.Enrollment;
+
+/** JDBC batch writes for enrollments; IDENTITY keys keep Hibernate from batching these itself. */
+public interface EnrollmentRepositoryCustom {
+
+    /** Insert all enrollments as one JDBC batch and set their generated ids. */
+    void insertAll(List<Enrollment> enrollments);
+}
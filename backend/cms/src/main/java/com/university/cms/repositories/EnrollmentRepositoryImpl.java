@@ -0,0 +1,55 @@
+package com.university.cms.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.university.cms.entities.Enrollment;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class EnrollmentRepositoryImpl implements EnrollmentRepositoryCustom {
+
+    private static final String INSERT =
+            "insert into enrollments (student_id, course_id, enrolled_at) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Enrollment e = enrollments.get(i);
+                        ps.setLong(1, e.getStudent().getId());
+                        ps.setLong(2, e.getCourse().getId());
+                        ps.setTimestamp(3, Timestamp.valueOf(e.getEnrolledAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return enrollments.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < enrollments.size(); i++) {
+            enrollments.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.university.cms.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.university.cms.entities.OutboxOffset;
+
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+}
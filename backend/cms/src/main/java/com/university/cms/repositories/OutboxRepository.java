@@ -0,0 +1,33 @@
+package com.university.cms.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.entities.OutboxEvent;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long>, OutboxRepositoryCustom {
+
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select coalesce(max(o.id), 0) from OutboxEvent o")
+    long findMaxId();
+
+    @Query("select coalesce(max(o.id), 0) from OutboxEvent o where o.createdAt < :before")
+    long findMaxIdCreatedBefore(LocalDateTime before);
+
+    /** Ids only: what a consumer's rebuild already saw above the relay's position. */
+    @Query("select o.id from OutboxEvent o where o.id > :afterId")
+    List<Long> findIdsAfter(long afterId);
+
+    /** Drop delivered events older than the retention window. */
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent o where o.id <= :deliveredUpTo and o.createdAt < :before")
+    int prune(long deliveredUpTo, LocalDateTime before);
+}
@@ -0,0 +1,11 @@
+package com.university.cms.repositories;
+
+import java.util.List;
+
+import com.university.cms.entities.OutboxEvent;
+
+public interface OutboxRepositoryCustom {
+
+    /** Insert the events as one JDBC batch, without reading ids back or managing entities. */
+    void appendAll(List<OutboxEvent> events);
+}
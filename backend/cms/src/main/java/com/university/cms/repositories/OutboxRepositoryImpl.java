@@ -0,0 +1,30 @@
+package com.university.cms.repositories;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.university.cms.entities.OutboxEvent;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OutboxRepositoryImpl implements OutboxRepositoryCustom {
+
+    private static final String INSERT = "insert into outbox_events (type, payload, created_at) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void appendAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, e) -> {
+            ps.setString(1, e.getType());
+            ps.setString(2, e.getPayload());
+            ps.setTimestamp(3, Timestamp.valueOf(e.getCreatedAt()));
+        });
+    }
+}
@@ -1,12 +1,46 @@
 package com.university.cms.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.university.cms.dto.ResultView;
 import com.university.cms.entities.Result;
 
-public interface ResultRepository extends JpaRepository<Result, Long> {
-    Optional<Result> findByEnrollmentId(Long enrollmentId);
+public interface ResultRepository extends JpaRepository<Result, Long>, ResultRepositoryCustom {
     boolean existsByEnrollmentId(Long enrollmentId);
+
+    @Query("""
+           select new com.university.cms.dto.ResultView(r.id, r.enrollment.id, r.grade, r.marks)
+           from Result r
+           where r.enrollment.id = :enrollmentId
+           """)
+    Optional<ResultView> findViewByEnrollmentId(Long enrollmentId);
+
+    /** {@code [courseId, grade, floor(marks * 2), count, sum(marks)]}: results grouped into half-mark buckets. */
+    @Query("""
+           select e.course.id, r.grade, floor(r.marks * 2), count(r), sum(r.marks)
+           from Result r join r.enrollment e
+           group by e.course.id, r.grade, floor(r.marks * 2)
+           """)
+    List<Object[]> aggregateByCourse();
+
+    /** {@link #aggregateByCourse()} for a single course. */
+    @Query("""
+           select e.course.id, r.grade, floor(r.marks * 2), count(r), sum(r.marks)
+           from Result r join r.enrollment e
+           where e.course.id = :courseId
+           group by e.course.id, r.grade, floor(r.marks * 2)
+           """)
+    List<Object[]> aggregateForCourse(Long courseId);
+
+    /** {@code [studentId, grade, credits, count, count(marks), sum(marks)]}: the input of a standings rebuild. */
+    @Query("""
+           select e.student.id, r.grade, c.credits, count(r), count(r.marks), sum(r.marks)
+           from Result r join r.enrollment e join e.course c
+           group by e.student.id, r.grade, c.credits
+           """)
+    List<Object[]> aggregateByStudent();
 }
@@ -0,0 +1,32 @@
+package com.university.cms.repositories;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import com.university.cms.dto.GradeRow;
+import com.university.cms.dto.GradeState;
+
+/** Native upserts on uk_results_enrollment, kept out of JPA so each write is a single statement. */
+public interface ResultRepositoryCustom {
+
+    /** Insert or update the result of one enrollment; returns the result id. */
+    long upsert(Long enrollmentId, String grade, BigDecimal marks);
+
+    /** Same as {@link #upsert} for many rows, sent as one JDBC batch. */
+    void upsertAll(List<GradeRow> rows);
+
+    /**
+     * Current results of the given enrollments, locking them until the transaction ends so
+     * concurrent grade changes to the same enrollment are applied one after the other.
+     * Unknown enrollment ids are absent from the result.
+     */
+    List<GradeState> lockGradeStates(Collection<Long> enrollmentIds);
+
+    /**
+     * {@code [studentId, grade, marks]} of every result in the course. The course row and then its
+     * enrollment rows stay locked until the transaction ends (the order seat reservations take them
+     * in), so grade changes in the course and a change of its credits are applied one after the other.
+     */
+    List<Object[]> lockGradesByCourseId(Long courseId);
+}
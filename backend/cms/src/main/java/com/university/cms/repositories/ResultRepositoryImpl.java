@@ -0,0 +1,106 @@
+package com.university.cms.repositories;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.university.cms.dto.GradeRow;
+import com.university.cms.dto.GradeState;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ResultRepositoryImpl implements ResultRepositoryCustom {
+
+    // id = last_insert_id(id) makes MySQL report the existing id when the row is updated
+    private static final String UPSERT = """
+            insert into results (enrollment_id, grade, marks) values (?, ?, ?) as new
+            on duplicate key update id = last_insert_id(id), grade = new.grade, marks = new.marks
+            """;
+
+    private static final String FIND_ID = "select id from results where enrollment_id = ?";
+
+    // only the enrollment rows are locked: locking courses would queue grading behind seat reservations
+    private static final String LOCK_GRADE_STATES = """
+            select e.id, e.student_id, e.course_id, c.credits, r.grade, r.marks
+            from enrollments e
+            join courses c on c.id = e.course_id
+            left join results r on r.enrollment_id = e.id
+            where e.id in (%s)
+            for update of e
+            """;
+
+    private static final String LOCK_COURSE = "select id from courses where id = ? for update";
+
+    private static final String LOCK_COURSE_GRADES = """
+            select e.student_id, r.grade, r.marks
+            from enrollments e
+            join results r on r.enrollment_id = e.id
+            where e.course_id = ?
+            for update of e
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsert; // UPSERT for the connected database, on first use
+
+    @Override
+    public long upsert(Long enrollmentId, String grade, BigDecimal marks) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        String sql = upsert();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, enrollmentId);
+            ps.setString(2, grade);
+            ps.setBigDecimal(3, marks);
+            return ps;
+        }, keys);
+        Number id = keys.getKey();
+        if (id != null) {
+            return id.longValue();
+        }
+        // no key when the row was already equal (MySQL reports none for 0 affected rows) or on H2,
+        // which ignores last_insert_id(id); the row exists either way
+        return jdbcTemplate.queryForObject(FIND_ID, Long.class, enrollmentId);
+    }
+
+    @Override
+    public void upsertAll(List<GradeRow> rows) {
+        jdbcTemplate.batchUpdate(upsert(), rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.enrollmentId());
+            ps.setString(2, row.grade());
+            ps.setBigDecimal(3, row.marks());
+        });
+    }
+
+    @Override
+    public List<GradeState> lockGradeStates(Collection<Long> enrollmentIds) {
+        if (enrollmentIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = LOCK_GRADE_STATES.formatted(String.join(", ", Collections.nCopies(enrollmentIds.size(), "?")));
+        return jdbcTemplate.query(sql, (rs, i) -> new GradeState(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                rs.getInt(4), rs.getString(5), rs.getBigDecimal(6)), enrollmentIds.toArray());
+    }
+
+    @Override
+    public List<Object[]> lockGradesByCourseId(Long courseId) {
+        jdbcTemplate.queryForList(LOCK_COURSE, Long.class, courseId);
+        return jdbcTemplate.query(LOCK_COURSE_GRADES, (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2),
+                rs.getBigDecimal(3)}, courseId);
+    }
+
+    private String upsert() {
+        String sql = upsert;
+        if (sql == null) {
+            sql = upsert = UpsertDialect.of(jdbcTemplate).render(UPSERT);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,23 @@
+package com.university.cms.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.university.cms.dto.CohortEntry;
+import com.university.cms.entities.StudentStanding;
+
+public interface StudentStandingRepository extends JpaRepository<StudentStanding, Long>, StudentStandingRepositoryCustom {
+
+    /** Highest GPAs first; walks ix_standings_gpa and stops after {@code limit} rows. */
+    @Query("""
+           select new com.university.cms.dto.CohortEntry(s.studentId, u.username, s.gpa, s.gradedCredits)
+           from StudentStanding s
+           join s.student u
+           where s.gpa is not null and s.gradedCredits >= :minCredits
+           order by s.gpa desc, s.studentId
+           """)
+    List<CohortEntry> findTop(int minCredits, Limit limit);
+}
@@ -0,0 +1,12 @@
+package com.university.cms.repositories;
+
+import java.util.Collection;
+
+import com.university.cms.dto.StandingDelta;
+
+/** Native upserts on student_standings so every change is one statement, whatever the history. */
+public interface StudentStandingRepositoryCustom {
+
+    /** Add each delta to its student's totals (creating the row on first use), as one JDBC batch. */
+    void addAll(Collection<StandingDelta> deltas);
+}
@@ -0,0 +1,60 @@
+package com.university.cms.repositories;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.util.Collection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.university.cms.dto.StandingDelta;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class StudentStandingRepositoryImpl implements StudentStandingRepositoryCustom {
+
+    // gpa goes first and adds the totals itself: MySQL runs the assignments left to right, H2 reads the old row in all
+    private static final String ADD = """
+            insert into student_standings (student_id, graded_credits, quality_points, marked_credits, weighted_marks, gpa)
+            values (?, ?, ?, ?, ?, ?) as new
+            on duplicate key update
+                gpa = case when graded_credits + new.graded_credits > 0
+                           then round((quality_points + new.quality_points) / ((graded_credits + new.graded_credits) * 100.0), 3) end,
+                graded_credits = graded_credits + new.graded_credits,
+                quality_points = quality_points + new.quality_points,
+                marked_credits = marked_credits + new.marked_credits,
+                weighted_marks = weighted_marks + new.weighted_marks
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String add; // ADD for the connected database, on first use
+
+    @Override
+    public void addAll(Collection<StandingDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(add(), deltas, deltas.size(), (ps, d) -> {
+            ps.setLong(1, d.studentId());
+            ps.setInt(2, d.gradedCredits());
+            ps.setLong(3, d.qualityPoints());
+            ps.setInt(4, d.markedCredits());
+            ps.setLong(5, d.weightedMarks());
+            if (d.gradedCredits() > 0) { // only used when the row is new
+                ps.setBigDecimal(6, BigDecimal.valueOf(d.qualityPoints())
+                        .divide(BigDecimal.valueOf(d.gradedCredits() * 100L), 3, RoundingMode.HALF_UP));
+            } else {
+                ps.setNull(6, Types.DECIMAL);
+            }
+        });
+    }
+
+    private String add() {
+        String sql = add;
+        if (sql == null) {
+            sql = add = UpsertDialect.of(jdbcTemplate).render(ADD);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,33 @@
+package com.university.cms.repositories;
+
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * How the connected database names the values an {@code insert ... on duplicate key update} tried
+ * to write. The statements are written for MySQL with a row alias ({@code values (...) as new ...
+ * col = new.col}, 8.0.19+), since {@code values(col)} is deprecated there. H2, which the tests and
+ * benchmarks run in MySQL mode, has no row alias, so for it they are rewritten to {@code values(col)}.
+ */
+enum UpsertDialect {
+    ROW_ALIAS,
+    VALUES_FUNCTION;
+
+    private static final Pattern ALIAS = Pattern.compile("\\)\\s+as new\\b");
+    private static final Pattern ALIASED_COLUMN = Pattern.compile("\\bnew\\.(\\w+)");
+
+    static UpsertDialect of(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product) ? ROW_ALIAS : VALUES_FUNCTION;
+    }
+
+    /** {@code sql}, written with the {@code as new} row alias, in this dialect. */
+    String render(String sql) {
+        if (this == ROW_ALIAS) {
+            return sql;
+        }
+        return ALIASED_COLUMN.matcher(ALIAS.matcher(sql).replaceFirst(")")).replaceAll("values($1)");
+    }
+}
@@ -1,13 +1,56 @@
 package com.university.cms.repositories;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.university.cms.dto.UserView;
 import com.university.cms.entities.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+import jakarta.persistence.QueryHint;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    String VIEW_SELECT = "select new com.university.cms.dto.UserView(u.id, u.email, u.username, u.isAdmin) from User u ";
+
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    @Query(VIEW_SELECT + "where u.id > :afterId order by u.id")
+    List<UserView> findViewsAfter(Long afterId, Limit limit);
+
+    @Query(VIEW_SELECT + "order by u.id")
+    List<UserView> findAllViews();
+
+    /** Forward-only cursor over all users; must be consumed inside a transaction and closed. */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT + "order by u.id")
+    Stream<UserView> streamAll();
+
+    /** {@code [email, username]} of every user, off a forward-only cursor; consume inside a transaction. */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.email, u.username from User u")
+    Stream<Object[]> streamKeys();
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
 }
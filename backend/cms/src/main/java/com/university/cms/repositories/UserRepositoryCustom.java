@@ -0,0 +1,12 @@
+package com.university.cms.repositories;
+
+import java.util.List;
+
+import com.university.cms.entities.User;
+
+/** JDBC batch writes for users; IDENTITY keys keep Hibernate from batching these itself. */
+public interface UserRepositoryCustom {
+
+    /** Insert all users as one JDBC batch and set their generated ids. */
+    void insertAll(List<User> users);
+}
@@ -0,0 +1,31 @@
+package com.university.cms.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import com.university.cms.entities.WaitlistEntry;
+
+import jakarta.persistence.LockModeType;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    Optional<WaitlistEntry> findByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    /**
+     * Front of a course's queue, read off ix_waitlist_course. A locking read, so it sees entries
+     * that a concurrent promotion removed and committed after this transaction's snapshot.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<WaitlistEntry> findByCourseIdOrderByIdAsc(Long courseId, Limit limit);
+
+    long countByCourseIdAndIdLessThan(Long courseId, Long id);
+
+    /** {@code [entryId, studentId, courseId, joinedAt]} for every entry, in queue order. */
+    @Query("select w.id, w.student.id, w.course.id, w.joinedAt from WaitlistEntry w order by w.id")
+    List<Object[]> findAllInOrder();
+}
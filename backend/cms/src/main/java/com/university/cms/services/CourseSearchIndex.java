@@ -0,0 +1,248 @@
+package com.university.cms.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.university.cms.config.StartupOrder;
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.SearchPage;
+import com.university.cms.repositories.CourseRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory trigram index over course code, title and description.
+ *
+ * Terms of three or more characters narrow the candidates by intersecting trigram postings;
+ * every term is then confirmed as a substring, so a query matches what the LIKE query matches
+ * (plus description). Shorter terms have no trigrams and only take part in the confirmation, so
+ * "01" still finds CS101; a query made of short terms alone scans every course in memory.
+ * Hits are ranked code &gt; title &gt; description. Built at startup and kept current by
+ * CourseService once its create/update/delete commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final CourseRepository courseRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    /** An indexed course with its lower-cased fields. */
+    private record Doc(CourseView course, String code, String title, String description) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.LOAD)
+    public void rebuild() {
+        List<CourseView> all = courseRepository.findAllViews();
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            all.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(CourseView course) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(course.id());
+            add(course);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<CourseView> get(Long courseId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(docs.get(courseId)).map(Doc::course);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ranked page of courses matching every whitespace-separated term of {@code q}. */
+    public SearchPage<CourseView> search(String q, int page, int size) {
+        String[] terms = normalize(q).split("\\s+");
+        lock.readLock().lock();
+        try {
+            List<Scored> hits = new ArrayList<>();
+            for (Long id : candidates(terms)) {
+                Doc doc = docs.get(id);
+                int score = score(doc, terms);
+                if (score > 0) {
+                    hits.add(new Scored(doc.course(), score));
+                }
+            }
+            hits.sort(Comparator.comparingInt(Scored::score).reversed()
+                    .thenComparing(s -> s.course().id()));
+
+            int from = (int) Math.min((long) page * size, hits.size());
+            int to = Math.min(from + size, hits.size());
+            List<CourseView> items = hits.subList(from, to).stream().map(Scored::course).toList();
+            return new SearchPage<>(items, page, size, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Scored(CourseView course, int score) {}
+
+    // --- must hold the read lock ---
+
+    /**
+     * Ids that can possibly match all terms; the smallest posting list drives the intersection.
+     * Every course when no term is long enough to have trigrams, none for a blank query.
+     */
+    private Set<Long> candidates(String[] terms) {
+        Set<Long> result = null;
+        boolean any = false;
+        for (String term : terms) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            any = true;
+            for (String key : trigrams(term)) {
+                Set<Long> posting = postings.getOrDefault(key, Set.of());
+                if (result == null) {
+                    result = new HashSet<>(posting);
+                } else {
+                    result.retainAll(posting);
+                }
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+        }
+        if (result == null) {
+            return any ? docs.keySet() : Set.of();
+        }
+        return result;
+    }
+
+    private static int score(Doc doc, String[] terms) {
+        int total = 0;
+        for (String term : terms) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            int best = 0;
+            if (doc.code().equals(term)) {
+                best = 100;
+            } else if (doc.code().startsWith(term)) {
+                best = 60;
+            } else if (doc.code().contains(term)) {
+                best = 40;
+            } else if (startsWord(doc.title(), term)) {
+                best = 25;
+            } else if (doc.title().contains(term)) {
+                best = 15;
+            } else if (startsWord(doc.description(), term)) {
+                best = 5;
+            } else if (doc.description().contains(term)) {
+                best = 2;
+            }
+            if (best == 0) {
+                return 0; // every term has to match somewhere
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // --- must hold the write lock ---
+
+    private void add(CourseView course) {
+        Doc doc = new Doc(course, normalize(course.code()), normalize(course.title()), normalize(course.description()));
+        docs.put(course.id(), doc);
+        for (String key : indexKeys(doc)) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(course.id());
+        }
+    }
+
+    private void removeDoc(Long courseId) {
+        Doc old = docs.remove(courseId);
+        if (old == null) {
+            return;
+        }
+        for (String key : indexKeys(old)) {
+            Set<Long> posting = postings.get(key);
+            if (posting != null && posting.remove(courseId) && posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    // --- keys ---
+
+    private static Set<String> indexKeys(Doc doc) {
+        Set<String> keys = new HashSet<>();
+        for (String field : new String[] {doc.code(), doc.title(), doc.description()}) {
+            keys.addAll(trigrams(field));
+        }
+        return keys;
+    }
+
+    /** Empty for text shorter than {@link #GRAM}. */
+    private static List<String> trigrams(String text) {
+        List<String> keys = new ArrayList<>(Math.max(0, text.length() - GRAM + 1));
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            keys.add(text.substring(i, i + GRAM));
+        }
+        return keys;
+    }
+
+    private static boolean startsWord(String text, String term) {
+        int at = text.indexOf(term);
+        while (at >= 0) {
+            if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return true;
+            }
+            at = text.indexOf(term, at + 1);
+        }
+        return false;
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT).trim();
+    }
+}
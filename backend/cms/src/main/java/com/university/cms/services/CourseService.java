@@ -1,12 +1,39 @@
 package com.university.cms.services;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.dto.CatalogSnapshot;
+import com.university.cms.dto.CourseStats;
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.KeysetPage;
+import com.university.cms.dto.SearchPage;
 import com.university.cms.entities.Course;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEvent.CourseChanged.Change;
+import com.university.cms.events.DomainEvents;
+import com.university.cms.events.OutboxRelay;
 import com.university.cms.repositories.CourseRepository;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -14,32 +41,194 @@ import lombok.RequiredArgsConstructor;
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final SeatLedger seatLedger;
+    private final CourseSearchIndex searchIndex;
+    private final CourseStatsStore statsStore;
+    private final DomainEvents domainEvents;
+    private final OutboxRelay outboxRelay;
+    private final TranscriptService transcriptService;
+    private final WaitlistService waitlistService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cms.paging.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Catalog cache: bumped once every course write has committed; a snapshot built for an older
+     * version is stale. Bumping before the commit would let a rebuild read the old rows and cache
+     * them under the new version.
+     */
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final ReentrantLock catalogRebuild = new ReentrantLock();
+    private volatile CachedCatalog catalog;
+
+    // also rebuild after this long, to pick up course edits made on other instances
+    @Value("${cms.catalog.max-age:30s}")
+    private Duration catalogMaxAge;
+
+    private Counter catalogHits;
+    private Counter catalogMisses;
+    private Timer catalogRebuildTimer;
+
+    private record CachedCatalog(CatalogSnapshot snapshot, long builtAtNanos) {}
+
+    @PostConstruct
+    void registerCatalogMetrics() {
+        catalogHits = Counter.builder("cms.catalog.cache").tag("result", "hit").register(meterRegistry);
+        catalogMisses = Counter.builder("cms.catalog.cache").tag("result", "miss").register(meterRegistry);
+        catalogRebuildTimer = Timer.builder("cms.catalog.rebuild").register(meterRegistry);
+        Gauge.builder("cms.catalog.version", catalogVersion, AtomicLong::get).register(meterRegistry);
+    }
 
+    @Transactional
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        course.setEnrolled(0);
+        Course saved = courseRepository.save(course);
+        domainEvents.publish(new DomainEvent.CourseChanged(saved.getId(), Change.CREATED, saved.getCapacity()));
+        CourseView view = CourseView.of(saved);
+        afterCommit(() -> searchIndex.put(view));
+        afterCommit(catalogVersion::incrementAndGet);
+        return saved;
     }
 
+    @Transactional
     public Course updateCourse(Long id, Course updated) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+        if (updated.getCredits() != null) {
+            transcriptService.courseCreditsChanged(id, course.getCredits(), updated.getCredits());
+        }
+        int oldCapacity = course.getCapacity();
         course.setCode(updated.getCode());
         course.setTitle(updated.getTitle());
         course.setDescription(updated.getDescription());
         course.setCredits(updated.getCredits());
         course.setCapacity(updated.getCapacity());
         course.setActive(updated.isActive());
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        if (saved.getCapacity() != null && saved.getCapacity() > oldCapacity) {
+            // new seats go to the waitlist first; the seat UPDATEs flush the new capacity
+            waitlistService.promote(id, saved.getCapacity() - course.getEnrolled());
+        }
+        seatLedger.forget(id); // capacity may have grown
+        CourseView view = CourseView.of(saved);
+        afterCommit(() -> searchIndex.put(view));
+        domainEvents.publish(new DomainEvent.CourseChanged(id, Change.UPDATED, saved.getCapacity()));
+        afterCommit(catalogVersion::incrementAndGet);
+        return saved;
     }
 
+    /** Deletes the course with its enrollments and results, taking them out of the students' GPAs. */
+    @Transactional
     public void deleteCourse(Long id) {
-        courseRepository.deleteById(id);
+        Course course = courseRepository.findById(id).orElse(null);
+        if (course == null) {
+            return;
+        }
+        transcriptService.courseCreditsChanged(id, course.getCredits(), 0);
+        courseRepository.delete(course);
+        domainEvents.publish(new DomainEvent.CourseChanged(id, Change.DELETED, course.getCapacity()));
+        seatLedger.forget(id);
+        afterCommit(() -> searchIndex.remove(id));
+        afterCommit(catalogVersion::incrementAndGet);
+    }
+
+    /** Enrollment and grade summary from the incrementally maintained {@link CourseStatsStore}. */
+    public CourseStats getCourseStats(Long id) {
+        return statsStore.get(id).orElseThrow(() -> new IllegalArgumentException("Course not found"));
+    }
+
+    /** Recompute all course statistics from the database (repair path). */
+    public void rebuildCourseStats() {
+        outboxRelay.rebuild(statsStore);
+    }
+
+    /** The whole catalog as pre-serialized JSON; rebuilt (once, even under concurrent misses) only after a course write */
+    public CatalogSnapshot catalog() {
+        CachedCatalog cached = catalog;
+        if (isCurrent(cached)) {
+            catalogHits.increment();
+            return cached.snapshot();
+        }
+        catalogRebuild.lock();
+        try {
+            cached = catalog;
+            if (isCurrent(cached)) {
+                catalogHits.increment();
+                return cached.snapshot();
+            }
+            catalogMisses.increment();
+            long version = catalogVersion.get();
+            CatalogSnapshot snapshot = catalogRebuildTimer.record(() -> buildCatalog(version));
+            catalog = new CachedCatalog(snapshot, System.nanoTime());
+            return snapshot;
+        } finally {
+            catalogRebuild.unlock();
+        }
+    }
+
+    private boolean isCurrent(CachedCatalog cached) {
+        return cached != null
+                && cached.snapshot().version() == catalogVersion.get()
+                && System.nanoTime() - cached.builtAtNanos() < catalogMaxAge.toNanos();
+    }
+
+    private CatalogSnapshot buildCatalog(long version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(courseRepository.findAllViews());
+            return new CatalogSnapshot(version, "\"" + DigestUtils.md5DigestAsHex(json) + "\"", json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize the course catalog", ex);
+        }
+    }
+
+    /** Ranked full-text lookup over code, title and description, served from memory */
+    public SearchPage<CourseView> findCourses(String q, int page, int size) {
+        return searchIndex.search(q, Math.max(page, 0), clampPageSize(size));
+    }
+
+    /** Keyset page of courses matching {@code q}, ordered by id; cost does not grow with page depth */
+    public KeysetPage<CourseView> searchCourses(String q, Long after, int size) {
+        int pageSize = clampPageSize(size);
+        List<CourseView> rows = courseRepository.searchAfter(q, after == null ? 0L : after, Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, CourseView::id);
+    }
+
+    /** Keyset page of all courses, ordered by id */
+    public KeysetPage<CourseView> listCourses(Long after, int size) {
+        int pageSize = clampPageSize(size);
+        List<CourseView> rows = courseRepository.findViewsAfter(after == null ? 0L : after, Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, CourseView::id);
+    }
+
+    public List<CourseView> listAllCourses() {
+        return courseRepository.findAllViews();
+    }
+
+    /** Hand every course to {@code sink} straight off a forward-only cursor; rows are views, so nothing piles up in the session */
+    @Transactional(readOnly = true)
+    public void forEachCourse(Consumer<? super CourseView> sink) {
+        try (Stream<CourseView> courses = courseRepository.streamAll()) {
+            courses.forEach(sink);
+        }
     }
 
-    public Page<Course> searchCourses(String q, Pageable pageable) {
-        return courseRepository.search(q, pageable);
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
     }
 
-    public Iterable<Course> listAllCourses() {
-        return courseRepository.findAll();
+    /** The in-memory search index and catalog version only ever reflect committed course rows. */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,243 @@
+package com.university.cms.services;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.university.cms.dto.CourseStats;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEventConsumer;
+import com.university.cms.events.OutboxSnapshot;
+import com.university.cms.repositories.CourseRepository;
+import com.university.cms.repositories.ResultRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-course enrollment and grading counters, kept up to date from the enrollment, result and
+ * course events of every instance (via the outbox) so a stats read never touches the roster.
+ *
+ * Each course holds a handful of ints, a count per distinct grade and a 201-bucket histogram
+ * of marks in half-mark steps, from which the median is read. The outbox relay runs
+ * {@link #rebuild} at startup and on demand ({@code OutboxRelay.rebuild}); a course created since
+ * starts from its event, and one not seen yet is read from the database without being kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseStatsStore implements DomainEventConsumer {
+
+    private static final int MARK_BUCKETS = 201;      // [0, 0.5), [0.5, 1), ... [100, 100.5)
+    private static final int CENTS_PER_BUCKET = 50;
+
+    private final CourseRepository courseRepository;
+    private final ResultRepository resultRepository;
+
+    private volatile ConcurrentMap<Long, Counters> courses = new ConcurrentHashMap<>();
+
+    /** Distinct grade strings, interned to indexes into each course's grade counts. */
+    private final ConcurrentMap<String, Integer> gradeIds = new ConcurrentHashMap<>();
+    private volatile String[] grades = new String[0];
+
+    public Optional<CourseStats> get(Long courseId) {
+        Counters counters = courses.get(courseId);
+        if (counters == null) {
+            counters = load(courseId);
+            if (counters == null) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(counters.snapshot(courseId, grades));
+    }
+
+    /** Recompute every course from the database and swap the result in. */
+    @Override
+    public void rebuild(OutboxSnapshot snapshot) {
+        courses = snapshot.read(() -> {
+            ConcurrentMap<Long, Counters> fresh = new ConcurrentHashMap<>();
+            for (Object[] row : courseRepository.findSeatCounts()) {
+                fresh.put((Long) row[0], new Counters(((Number) row[1]).intValue(), ((Number) row[2]).intValue()));
+            }
+            addResults(fresh, resultRepository.aggregateByCourse());
+            return fresh;
+        });
+    }
+
+    @Override
+    public String name() {
+        return "course-stats";
+    }
+
+    @Override
+    public void accept(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.EnrollmentCreated e) {
+                update(e.courseId(), counters -> counters.enrolled(1));
+            } else if (event instanceof DomainEvent.EnrollmentDropped e) {
+                update(e.courseId(), counters -> {
+                    counters.enrolled(-1);
+                    counters.result(gradeId(e.grade()), e.marks(), -1);
+                });
+            } else if (event instanceof DomainEvent.ResultUpdated e) {
+                update(e.courseId(), counters -> {
+                    counters.result(gradeId(e.oldGrade()), e.oldMarks(), -1);
+                    counters.result(gradeId(e.grade()), e.marks(), 1);
+                });
+            } else if (event instanceof DomainEvent.CourseChanged e) {
+                if (e.change() == DomainEvent.CourseChanged.Change.DELETED) {
+                    courses.remove(e.courseId());
+                } else if (e.change() == DomainEvent.CourseChanged.Change.CREATED) {
+                    courses.put(e.courseId(), new Counters(e.capacity(), 0));
+                } else {
+                    update(e.courseId(), counters -> counters.capacity(e.capacity()));
+                }
+            }
+        }
+    }
+
+    private void update(Long courseId, Consumer<Counters> change) {
+        Counters counters = courses.get(courseId);
+        if (counters != null) { // otherwise its CourseChanged event is still on the way
+            change.accept(counters);
+        }
+    }
+
+    /**
+     * A course the store has not heard of yet, straight from the database. Not kept: there is no
+     * telling which of its events have been applied to what was read, so its own CREATED event adds it.
+     */
+    private Counters load(Long courseId) {
+        return courseRepository.findById(courseId).map(course -> {
+            Counters counters = new Counters(course.getCapacity(), course.getEnrolled());
+            addResults(Map.of(courseId, counters), resultRepository.aggregateForCourse(courseId));
+            return counters;
+        }).orElse(null);
+    }
+
+    private void addResults(Map<Long, Counters> target, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            Counters counters = target.get((Long) row[0]);
+            if (counters != null) {
+                counters.addAggregate(gradeId((String) row[1]), (Number) row[2], ((Number) row[3]).intValue(),
+                        (Number) row[4]);
+            }
+        }
+    }
+
+    /** -1 for no grade. */
+    private int gradeId(String grade) {
+        if (grade == null) {
+            return -1;
+        }
+        Integer id = gradeIds.get(grade);
+        return id != null ? id : intern(grade);
+    }
+
+    private synchronized int intern(String grade) {
+        Integer id = gradeIds.get(grade);
+        if (id != null) {
+            return id;
+        }
+        String[] extended = Arrays.copyOf(grades, grades.length + 1);
+        extended[grades.length] = grade;
+        grades = extended;
+        gradeIds.put(grade, grades.length - 1);
+        return grades.length - 1;
+    }
+
+    /** Counters of one course; reads and writes are short and rare enough for a monitor. */
+    private static final class Counters {
+        private int capacity;
+        private int enrolled;
+        private int graded;
+        private int[] gradeCounts = new int[0];
+        private int marked;
+        private long marksCents;
+        private int[] markBuckets; // allocated with the first marks
+
+        Counters(int capacity, int enrolled) {
+            this.capacity = capacity;
+            this.enrolled = enrolled;
+        }
+
+        synchronized void capacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void enrolled(int delta) {
+            enrolled = Math.max(0, enrolled + delta);
+        }
+
+        synchronized void result(int gradeId, BigDecimal marks, int delta) {
+            if (gradeId >= 0) {
+                gradeCounts(gradeId)[gradeId] += delta;
+                graded += delta;
+            }
+            if (marks != null) {
+                int cents = marks.movePointRight(2).intValue();
+                buckets()[Math.min(cents / CENTS_PER_BUCKET, MARK_BUCKETS - 1)] += delta;
+                marked += delta;
+                marksCents += (long) cents * delta;
+            }
+        }
+
+        /** One aggregate row: {@code count} results with this grade whose marks fall in {@code bucket}. */
+        synchronized void addAggregate(int gradeId, Number bucket, int count, Number sumMarks) {
+            if (gradeId >= 0) {
+                gradeCounts(gradeId)[gradeId] += count;
+                graded += count;
+            }
+            if (bucket != null) {
+                buckets()[Math.min(bucket.intValue(), MARK_BUCKETS - 1)] += count;
+                marked += count;
+                marksCents += new BigDecimal(sumMarks.toString()).movePointRight(2).longValue();
+            }
+        }
+
+        synchronized CourseStats snapshot(Long courseId, String[] grades) {
+            Map<String, Integer> distribution = new LinkedHashMap<>();
+            for (int i = 0; i < gradeCounts.length; i++) {
+                if (gradeCounts[i] > 0) {
+                    distribution.put(grades[i], gradeCounts[i]);
+                }
+            }
+            Double mean = marked > 0 ? Math.round(marksCents / (double) marked) / 100.0 : null;
+            Double median = marked > 0 ? (bucketOfRank((marked - 1) / 2) + bucketOfRank(marked / 2)) / 4.0 : null;
+            return new CourseStats(courseId, capacity, enrolled, Math.max(0, capacity - enrolled), graded,
+                    distribution, marked, mean, median);
+        }
+
+        /** Bucket holding the {@code rank}-th smallest marks (0-based). */
+        private int bucketOfRank(int rank) {
+            int seen = 0;
+            for (int b = 0; b < markBuckets.length; b++) {
+                seen += markBuckets[b];
+                if (seen > rank) {
+                    return b;
+                }
+            }
+            return markBuckets.length - 1;
+        }
+
+        private int[] gradeCounts(int gradeId) {
+            if (gradeId >= gradeCounts.length) {
+                gradeCounts = Arrays.copyOf(gradeCounts, gradeId + 1);
+            }
+            return gradeCounts;
+        }
+
+        private int[] buckets() {
+            if (markBuckets == null) {
+                markBuckets = new int[MARK_BUCKETS];
+            }
+            return markBuckets;
+        }
+    }
+}
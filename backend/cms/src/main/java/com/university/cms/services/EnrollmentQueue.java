@@ -0,0 +1,104 @@
+package com.university.cms.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.university.cms.dto.EnrollmentDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group-commit queue for the registration window.
+ *
+ * Requests are sharded by course onto bounded queues, each drained by a single writer
+ * thread that hands whole micro-batches to {@code writer}. All requests for a course go
+ * through the same writer, so a batch never competes with itself for a course row.
+ */
+@Slf4j
+final class EnrollmentQueue {
+
+    record Request(Long studentId, Long courseId, CompletableFuture<EnrollmentDto> result) {}
+
+    private final List<BlockingQueue<Request>> shards = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final Consumer<List<Request>> writer;
+    private volatile boolean running = true;
+
+    EnrollmentQueue(int shardCount, int capacityPerShard, int maxBatch, Duration linger,
+                    Consumer<List<Request>> writer) {
+        this.maxBatch = maxBatch;
+        this.lingerNanos = linger.toNanos();
+        this.writer = writer;
+        for (int i = 0; i < shardCount; i++) {
+            BlockingQueue<Request> queue = new ArrayBlockingQueue<>(capacityPerShard);
+            shards.add(queue);
+            Thread thread = new Thread(() -> drain(queue), "enroll-writer-" + i);
+            thread.setDaemon(true);
+            writers.add(thread);
+        }
+        writers.forEach(Thread::start);
+    }
+
+    CompletableFuture<EnrollmentDto> submit(Long studentId, Long courseId) {
+        Request request = new Request(studentId, courseId, new CompletableFuture<>());
+        BlockingQueue<Request> queue = shards.get(Math.floorMod(courseId.hashCode(), shards.size()));
+        if (!running || !queue.offer(request)) {
+            throw new IllegalStateException("Registration is busy, please retry");
+        }
+        return request.result();
+    }
+
+    void close() {
+        running = false;
+        writers.forEach(Thread::interrupt);
+        for (BlockingQueue<Request> queue : shards) {
+            List<Request> left = new ArrayList<>();
+            queue.drainTo(left);
+            left.forEach(r -> r.result().completeExceptionally(new IllegalStateException("Registration is shutting down")));
+        }
+    }
+
+    private void drain(BlockingQueue<Request> queue) {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - batch.size());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatch) {
+                    long wait = deadline - System.nanoTime();
+                    Request next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(r -> r.result().completeExceptionally(new IllegalStateException("Registration is shutting down")));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Request> batch) {
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException ex) {
+            log.error("Enrollment batch of {} failed", batch.size(), ex);
+            batch.forEach(r -> r.result().completeExceptionally(ex));
+        }
+    }
+}
@@ -1,86 +1,396 @@
 package com.university.cms.services;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.university.cms.config.StartupOrder;
+import com.university.cms.dto.CourseView;
 import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.dto.EnrollmentOutcome;
+import com.university.cms.dto.StudentDashboard;
+import com.university.cms.dto.WaitlistPosition;
 import com.university.cms.entities.Course;
 import com.university.cms.entities.Enrollment;
+import com.university.cms.entities.Result;
 import com.university.cms.entities.User;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEvents;
 import com.university.cms.repositories.CourseRepository;
 import com.university.cms.repositories.EnrollmentRepository;
 import com.university.cms.repositories.UserRepository;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
 
+    static final String COURSE_FULL = "Course is full";
+    private static final int WAITLIST_ATTEMPTS = 3;
+
     private final EnrollmentRepository enrollmentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
+    private final CourseSearchIndex courseIndex;
+    private final SeatLedger seatLedger;
+    private final DomainEvents domainEvents;
+    private final TranscriptService transcriptService;
+    private final WaitlistService waitlistService;
+    private final StudentEnrollmentCache studentEnrollments;
+    private final TransactionTemplate transactionTemplate;
 
-    /** Enroll a student and return a DTO */
-    @Transactional
+    @Value("${cms.enrollment.recount-seats-on-startup:false}")
+    private boolean recountSeatsOnStartup;
+
+    @Value("${cms.enrollment.registration-window.enabled:false}")
+    private boolean registrationWindow;
+    @Value("${cms.enrollment.registration-window.shards:4}")
+    private int queueShards;
+    @Value("${cms.enrollment.registration-window.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${cms.enrollment.registration-window.max-batch:200}")
+    private int maxBatch;
+    @Value("${cms.enrollment.registration-window.linger:2ms}")
+    private Duration linger;
+
+    @Value("${cms.export.segment-size:50000}")
+    private int exportSegmentSize;
+
+    private EnrollmentQueue queue;
+
+    @PostConstruct
+    void startRegistrationWindow() {
+        if (registrationWindow) {
+            queue = new EnrollmentQueue(queueShards, queueCapacity, maxBatch, linger, this::enrollBatch);
+        }
+    }
+
+    @PreDestroy
+    void stopRegistrationWindow() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    /**
+     * Enroll a student and return a DTO.
+     * In registration-window mode the request is group-committed with others for the same
+     * course shard; otherwise it runs in its own short transaction. Both give the same answers;
+     * the DTO is built from what the request already holds, so it carries no student username.
+     */
     public EnrollmentDto enrollStudent(Long studentId, Long courseId) {
-        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
-            throw new IllegalArgumentException("Already enrolled in this course");
+        if (seatLedger.isKnownFull(courseId)) {
+            throw new IllegalStateException(COURSE_FULL);
+        }
+        if (queue == null) {
+            return transactionTemplate.execute(status -> enrollNow(studentId, courseId));
         }
+        try {
+            return queue.submit(studentId, courseId).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
 
-        long enrolledCount = enrollmentRepository.countByCourseId(courseId);
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
-        if (enrolledCount >= course.getCapacity()) {
-            throw new IllegalStateException("Course is full");
+    /**
+     * Enroll, or put the student on the course's waitlist if it is full. A waitlisted student is
+     * enrolled by the drop that frees their seat, so clients have no reason to retry.
+     */
+    public EnrollmentOutcome enrollOrWaitlist(Long studentId, Long courseId) {
+        for (int attempt = 1; ; attempt++) {
+            if (!seatLedger.isKnownFull(courseId)) {
+                try {
+                    return EnrollmentOutcome.enrolled(enrollStudent(studentId, courseId));
+                } catch (IllegalStateException ex) {
+                    if (!COURSE_FULL.equals(ex.getMessage())) {
+                        throw ex;
+                    }
+                }
+            }
+            Optional<WaitlistPosition> position = waitlistService.join(studentId, courseId);
+            if (position.isPresent()) {
+                return EnrollmentOutcome.waitlisted(position.get());
+            }
+            seatLedger.forget(courseId); // a seat came free after we saw the course full
+            if (attempt == WAITLIST_ATTEMPTS) {
+                throw new IllegalStateException(COURSE_FULL);
+            }
         }
+    }
 
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
+    /**
+     * The seat is taken with a single conditional UPDATE on courses; duplicates and
+     * unknown students are caught by the enrollment unique key and foreign key. Code and title
+     * come from the search index, so a course it holds costs no read at all.
+     */
+    private EnrollmentDto enrollNow(Long studentId, Long courseId) {
+        if (courseRepository.reserveSeat(courseId) == 0) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new IllegalArgumentException("Course not found");
+            }
+            seatLedger.markFull(courseId);
+            throw new IllegalStateException(COURSE_FULL);
+        }
 
         Enrollment enrollment = Enrollment.builder()
-                .student(student)
-                .course(course)
+                .student(userRepository.getReferenceById(studentId))
+                .course(courseRepository.getReferenceById(courseId))
                 .enrolledAt(LocalDateTime.now())
                 .build();
 
-        Enrollment saved = enrollmentRepository.save(enrollment);
-        return toDto(saved);
+        Long enrollmentId;
+        try {
+            enrollmentId = enrollmentRepository.saveAndFlush(enrollment).getId();
+        } catch (DataIntegrityViolationException ex) {
+            // rolls back the seat reservation together with the failed insert; names are matched
+            // without their uk_/fk_ prefix (H2 reports them clipped), the longest first
+            if (violates(ex, "enrollment_student_course")) {
+                throw new IllegalArgumentException("Already enrolled in this course");
+            }
+            if (violates(ex, "enrollment_student")) {
+                throw new IllegalArgumentException("Student not found");
+            }
+            if (violates(ex, "enrollment_course")) {
+                throw new IllegalArgumentException("Course not found"); // deleted since the seat was reserved
+            }
+            throw ex;
+        }
+        domainEvents.publish(new DomainEvent.EnrollmentCreated(enrollmentId, studentId, courseId));
+        studentEnrollments.evictAfterCommit(studentId);
+        CourseView course = courseIndex.get(courseId)
+                .or(() -> courseRepository.findById(courseId).map(CourseView::of)) // created on another instance
+                .orElseThrow();
+        return new EnrollmentDto(enrollmentId, studentId, null, courseId, course.code(), course.title(),
+                enrollment.getEnrolledAt(), null, null);
+    }
+
+    /**
+     * Decide a whole micro-batch in one transaction: lock the courses involved, admit requests
+     * in arrival order while seats last, insert the admitted ones as one JDBC batch.
+     * If the batch itself fails, every request is retried on the single-request path.
+     */
+    private void enrollBatch(List<EnrollmentQueue.Request> batch) {
+        Map<EnrollmentQueue.Request, RuntimeException> rejected = new IdentityHashMap<>();
+        List<Enrollment> admitted;
+        try {
+            admitted = transactionTemplate.execute(status -> decideBatch(batch, rejected));
+        } catch (RuntimeException ex) {
+            batch.forEach(this::enrollAlone);
+            return;
+        }
+
+        int next = 0;
+        for (EnrollmentQueue.Request request : batch) {
+            RuntimeException failure = rejected.get(request);
+            if (failure != null) {
+                request.result().completeExceptionally(failure);
+            } else {
+                request.result().complete(toDto(admitted.get(next++)));
+            }
+        }
+    }
+
+    private List<Enrollment> decideBatch(List<EnrollmentQueue.Request> batch,
+                                         Map<EnrollmentQueue.Request, RuntimeException> rejected) {
+        Set<Long> courseIds = batch.stream().map(EnrollmentQueue.Request::courseId).collect(Collectors.toSet());
+        Set<Long> studentIds = batch.stream().map(EnrollmentQueue.Request::studentId).collect(Collectors.toSet());
+
+        Map<Long, Course> courses = courseRepository.lockAllById(courseIds).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Map<Long, User> students = userRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<List<Long>> taken = new HashSet<>();
+        for (Enrollment e : enrollmentRepository.findByCourseIdInAndStudentIdIn(courseIds, studentIds)) {
+            taken.add(List.of(e.getStudent().getId(), e.getCourse().getId()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Enrollment> admitted = new ArrayList<>();
+        for (EnrollmentQueue.Request request : batch) {
+            Course course = courses.get(request.courseId());
+            User student = students.get(request.studentId());
+            // same precedence as enrollNow: missing course, full course, duplicate, missing student
+            if (course == null) {
+                rejected.put(request, new IllegalArgumentException("Course not found"));
+            } else if (course.getEnrolled() >= course.getCapacity()) {
+                seatLedger.markFull(course.getId());
+                rejected.put(request, new IllegalStateException(COURSE_FULL));
+            } else if (taken.contains(List.of(request.studentId(), request.courseId()))) {
+                rejected.put(request, new IllegalArgumentException("Already enrolled in this course"));
+            } else if (student == null) {
+                rejected.put(request, new IllegalArgumentException("Student not found"));
+            } else {
+                taken.add(List.of(request.studentId(), request.courseId()));
+                course.setEnrolled(course.getEnrolled() + 1); // row is locked; flushed at commit
+                admitted.add(Enrollment.builder().student(student).course(course).enrolledAt(now).build());
+            }
+        }
+        enrollmentRepository.insertAll(admitted);
+        domainEvents.publishAll(admitted.stream()
+                .map(e -> new DomainEvent.EnrollmentCreated(e.getId(), e.getStudent().getId(), e.getCourse().getId()))
+                .toList());
+        studentEnrollments.evictAfterCommit(admitted.stream().map(e -> e.getStudent().getId()).collect(Collectors.toSet()));
+        return admitted;
+    }
+
+    private void enrollAlone(EnrollmentQueue.Request request) {
+        try {
+            request.result().complete(
+                    transactionTemplate.execute(status -> enrollNow(request.studentId(), request.courseId())));
+        } catch (RuntimeException ex) {
+            request.result().completeExceptionally(ex);
+        }
     }
 
+    /**
+     * Drop an enrollment and, in the same transaction, give its seat to the first student on the
+     * course's waitlist; only when nobody is waiting does the seat become free.
+     */
+    @Transactional
     public void dropEnrollment(Long enrollmentId) {
-        enrollmentRepository.deleteById(enrollmentId);
+        enrollmentRepository.findById(enrollmentId).ifPresent(enrollment -> {
+            Long courseId = enrollment.getCourse().getId();
+            Long studentId = enrollment.getStudent().getId();
+            Result result = enrollment.getResult();
+            if (result != null) {
+                transcriptService.enrollmentDropped(studentId, enrollment.getCourse().getCredits(),
+                        result.getGrade(), result.getMarks());
+            }
+            enrollmentRepository.delete(enrollment);
+            courseRepository.releaseSeat(courseId); // also locks the course row for the promotion
+            domainEvents.publish(new DomainEvent.EnrollmentDropped(enrollmentId, studentId, courseId,
+                    result == null ? null : result.getGrade(), result == null ? null : result.getMarks()));
+            studentEnrollments.evictAfterCommit(studentId);
+            if (waitlistService.promote(courseId, 1) == 0) {
+                seatLedger.seatFreed(courseId);
+            }
+        });
     }
 
-    /** List enrollments for a student as DTOs (transaction ensures LAZY fields available) */
-    @Transactional(readOnly = true)
+    /**
+     * Bring Course.enrolled back in line with the enrollments table (e.g. after the column was added).
+     * Off by default: the full-table UPDATE races with enrollments on other instances, so switch
+     * {@code cms.enrollment.recount-seats-on-startup} on for one instance during a quiet period.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.REPAIR)
+    @Transactional
+    public void recountSeats() {
+        if (recountSeatsOnStartup) {
+            courseRepository.recountSeats();
+            seatLedger.clear();
+        }
+    }
+
+    /**
+     * List enrollments for a student as DTOs, from the {@link StudentEnrollmentCache}. A miss runs one
+     * projection query on the primary: a lagging replica read could otherwise be cached past the
+     * write that evicted it.
+     */
     public List<EnrollmentDto> getEnrollmentsByStudent(Long studentId) {
-        return enrollmentRepository.findByStudentId(studentId)
-                .stream().map(this::toDto).toList();
+        return studentEnrollments.get(studentId,
+                () -> transactionTemplate.execute(status -> enrollmentRepository.findDtosByStudentId(studentId)));
+    }
+
+    /**
+     * A student's enrollments with results, the slim catalog and waitlist places. The enrollments
+     * come from {@link #getEnrollmentsByStudent} (a projection query on a cache miss, nothing on a
+     * hit), the catalog is one projection query in a read-only transaction of its own, and the
+     * places are read from the in-memory {@link WaitlistIndex}. No entities are loaded.
+     */
+    public StudentDashboard getDashboard(Long studentId) {
+        List<EnrollmentDto> enrollments = getEnrollmentsByStudent(studentId); // outside the read-only transaction
+        return readOnly().execute(status -> new StudentDashboard(
+                studentId,
+                enrollments,
+                courseRepository.findCatalogFor(studentId),
+                waitlistService.positions(studentId)));
     }
 
     /** List enrollments for a course as DTOs */
     @Transactional(readOnly = true)
     public List<EnrollmentDto> getEnrollmentsByCourse(Long courseId) {
-        return enrollmentRepository.findByCourseId(courseId)
-                .stream().map(this::toDto).toList();
-    }
-
-   private EnrollmentDto toDto(Enrollment e) {
-    var r = e.getResult();
-    return new EnrollmentDto(
-            e.getId(),
-            e.getStudent().getId(),
-            e.getStudent().getUsername(),
-            e.getCourse().getId(),
-            e.getCourse().getCode(),
-            e.getCourse().getTitle(),
-            e.getEnrolledAt(),
-            r != null ? r.getGrade() : null,
-            r != null && r.getMarks() != null ? r.getMarks().doubleValue() : null
-    );
-}
+        return enrollmentRepository.findDtosByCourseId(courseId);
+    }
+
+    /**
+     * Hand every enrollment, with its result, to {@code sink} in id order, optionally for one course.
+     * Rows come off a forward-only cursor as DTO projections, so nothing accumulates in the
+     * persistence context. The export is cut into keyset segments of {@code cms.export.segment-size}
+     * rows, each read in its own read-only transaction, so no connection is pinned for the whole download.
+     */
+    public void forEachEnrollment(Long courseId, Consumer<? super EnrollmentDto> sink) {
+        TransactionTemplate readOnly = readOnly();
+        long[] after = {0L};
+        int read;
+        do {
+            read = readOnly.execute(status -> {
+                int count = 0;
+                try (Stream<EnrollmentDto> rows = enrollmentRepository.streamDtos(courseId, after[0],
+                        Limit.of(exportSegmentSize))) {
+                    for (EnrollmentDto row : (Iterable<EnrollmentDto>) rows::iterator) {
+                        sink.accept(row);
+                        after[0] = row.id();
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } while (read == exportSegmentSize);
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
+
+    /** DTO for a freshly inserted enrollment whose course is already loaded; no username, as on the single path */
+    private static EnrollmentDto toDto(Enrollment e) {
+        return new EnrollmentDto(
+                e.getId(),
+                e.getStudent().getId(),
+                null,
+                e.getCourse().getId(),
+                e.getCourse().getCode(),
+                e.getCourse().getTitle(),
+                e.getEnrolledAt(),
+                null,
+                null
+        );
+    }
+
+    private static boolean violates(DataIntegrityViolationException ex, String constraint) {
+        return ex.getCause() instanceof ConstraintViolationException cve
+                && cve.getConstraintName() != null
+                && cve.getConstraintName().toLowerCase().contains(constraint);
+    }
 }
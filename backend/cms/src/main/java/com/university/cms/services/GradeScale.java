@@ -0,0 +1,28 @@
+package com.university.cms.services;
+
+import java.util.Locale;
+import java.util.Map;
+
+/** Letter grades on the 4.0 scale, in hundredths of a grade point. Other grades (P, W, I, ...) carry no points. */
+final class GradeScale {
+
+    static final int NO_POINTS = -1;
+
+    private static final Map<String, Integer> POINTS = Map.ofEntries(
+            Map.entry("A+", 400), Map.entry("A", 400), Map.entry("A-", 370),
+            Map.entry("B+", 330), Map.entry("B", 300), Map.entry("B-", 270),
+            Map.entry("C+", 230), Map.entry("C", 200), Map.entry("C-", 170),
+            Map.entry("D+", 130), Map.entry("D", 100), Map.entry("D-", 70),
+            Map.entry("F", 0));
+
+    private GradeScale() {
+    }
+
+    /** Grade points in hundredths, or {@link #NO_POINTS}. */
+    static int points(String grade) {
+        if (grade == null) {
+            return NO_POINTS;
+        }
+        return POINTS.getOrDefault(grade.strip().toUpperCase(Locale.ROOT), NO_POINTS);
+    }
+}
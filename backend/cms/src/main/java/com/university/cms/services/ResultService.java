@@ -1,12 +1,29 @@
 package com.university.cms.services;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.university.cms.entities.Enrollment;
-import com.university.cms.entities.Result;
-import com.university.cms.repositories.EnrollmentRepository;
+import com.university.cms.dto.BulkReport;
+import com.university.cms.dto.GradeRow;
+import com.university.cms.dto.GradeState;
+import com.university.cms.dto.ResultView;
+import com.university.cms.dto.StandingDelta;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEvents;
 import com.university.cms.repositories.ResultRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -15,25 +32,223 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ResultService {
 
-    private final ResultRepository resultRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private static final BigDecimal MAX_MARKS = BigDecimal.valueOf(100);
 
-    public Result updateResult(Long enrollmentId, String grade, Double marks) {
-        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Enrollment not found"));
+    private final ResultRepository resultRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEvents domainEvents;
+    private final TranscriptService transcriptService;
+    private final StudentEnrollmentCache studentEnrollments;
 
-        Result result = resultRepository.findByEnrollmentId(enrollmentId)
-                .orElse(Result.builder().enrollment(enrollment).build());
+    @Value("${cms.results.batch-size:500}")
+    private int batchSize;
 
-        result.setGrade(grade);
+    /**
+     * Insert or update the result of one enrollment: the enrollment row is locked and its current
+     * result read in the same statement, then a single upsert; the change feeds {@link CourseStatsStore}.
+     */
+    public ResultView updateResult(Long enrollmentId, String grade, Double marks) {
         // convert Double -> BigDecimal (handles null safely)
-        result.setMarks(marks == null ? null : BigDecimal.valueOf(marks));
+        GradeRow row = normalize(new GradeRow(enrollmentId, grade, marks == null ? null : BigDecimal.valueOf(marks)));
+        String problem = validate(row);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        long id = write(row);
+        return new ResultView(id, row.enrollmentId(), row.grade(), row.marks());
+    }
 
-        return resultRepository.save(result);
+    private long write(GradeRow row) {
+        return transactionTemplate.execute(status -> {
+            GradeState before = resultRepository.lockGradeStates(List.of(row.enrollmentId())).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Enrollment not found"));
+            long id = resultRepository.upsert(row.enrollmentId(), row.grade(), row.marks());
+            transcriptService.apply(List.of(TranscriptService.delta(before, row.grade(), row.marks())));
+            domainEvents.publish(resultUpdated(before, row));
+            studentEnrollments.evictAfterCommit(before.studentId());
+            return id;
+        });
     }
 
-    public Result getResultByEnrollment(Long enrollmentId) {
-        return resultRepository.findByEnrollmentId(enrollmentId)
+    public ResultView getResultByEnrollment(Long enrollmentId) {
+        return resultRepository.findViewByEnrollmentId(enrollmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Result not found"));
     }
+
+    /** Bulk upsert; bad rows are reported, good rows are written in batches of {@code cms.results.batch-size} */
+    public BulkReport updateResults(List<GradeRow> rows) {
+        BulkImport bulk = new BulkImport();
+        for (int i = 0; i < rows.size(); i++) {
+            bulk.add(i + 1, rows.get(i));
+        }
+        return bulk.finish();
+    }
+
+    /**
+     * Bulk upsert from CSV lines {@code enrollmentId,grade,marks} (header optional), read as they arrive.
+     * Row numbers in the report are line numbers.
+     */
+    public BulkReport updateResultsCsv(Reader csv) throws IOException {
+        BulkImport bulk = new BulkImport();
+        BufferedReader reader = new BufferedReader(csv);
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank() || (lineNo == 1 && !Character.isDigit(line.strip().charAt(0)))) {
+                continue; // blank line or header
+            }
+            try {
+                bulk.add(lineNo, parseCsv(line));
+            } catch (IllegalArgumentException ex) {
+                bulk.reject(lineNo, line, ex.getMessage());
+            }
+        }
+        return bulk.finish();
+    }
+
+    /** Accumulates rows and flushes a validated chunk once it reaches the batch size. */
+    private final class BulkImport {
+        private final BulkReport.Tally tally = new BulkReport.Tally();
+        private final List<GradeRow> chunk = new ArrayList<>();
+        private final List<Integer> chunkRows = new ArrayList<>();
+
+        void add(int rowNo, GradeRow raw) {
+            if (raw == null) {
+                reject(rowNo, null, "Empty row");
+                return;
+            }
+            GradeRow row = normalize(raw);
+            String problem = validate(row);
+            if (problem != null) {
+                reject(rowNo, row.enrollmentId(), problem);
+                return;
+            }
+            tally.received();
+            chunk.add(row);
+            chunkRows.add(rowNo);
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int rowNo, Object key, String message) {
+            tally.received();
+            tally.failed(rowNo, key, message);
+        }
+
+        BulkReport finish() {
+            flush();
+            return tally.toReport();
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<GradeRow> rows = List.copyOf(chunk);
+            List<Integer> rowNos = List.copyOf(chunkRows);
+            chunk.clear();
+            chunkRows.clear();
+
+            List<Integer> missing = new ArrayList<>();
+            int written;
+            try {
+                written = transactionTemplate.execute(status -> writeChunk(rows, missing));
+            } catch (DataAccessException batchFailure) {
+                // e.g. a deadlock: retry one by one so only the rows that really fail are reported
+                for (int i = 0; i < rows.size(); i++) {
+                    GradeRow row = rows.get(i);
+                    try {
+                        write(row);
+                        tally.succeeded(1);
+                    } catch (IllegalArgumentException ex) {
+                        tally.failed(rowNos.get(i), row.enrollmentId(), ex.getMessage());
+                    } catch (DataAccessException ex) {
+                        tally.failed(rowNos.get(i), row.enrollmentId(), "Could not save result");
+                    }
+                }
+                return;
+            }
+            for (int i : missing) {
+                tally.failed(rowNos.get(i), rows.get(i).enrollmentId(), "Enrollment not found");
+            }
+            tally.succeeded(written);
+        }
+
+        /** Locks the chunk's enrollments, upserts the rows whose enrollment exists; indexes of the others go to {@code missing}. */
+        private int writeChunk(List<GradeRow> rows, List<Integer> missing) {
+            Map<Long, GradeState> current = new HashMap<>();
+            for (GradeState state : resultRepository.lockGradeStates(rows.stream().map(GradeRow::enrollmentId).toList())) {
+                current.put(state.enrollmentId(), state);
+            }
+            List<GradeRow> writable = new ArrayList<>(rows.size());
+            List<StandingDelta> standings = new ArrayList<>(rows.size());
+            List<DomainEvent> events = new ArrayList<>(rows.size());
+            Set<Long> students = new HashSet<>();
+            for (int i = 0; i < rows.size(); i++) {
+                GradeRow row = rows.get(i);
+                GradeState before = current.get(row.enrollmentId());
+                if (before == null) {
+                    missing.add(i);
+                    continue;
+                }
+                writable.add(row);
+                standings.add(TranscriptService.delta(before, row.grade(), row.marks()));
+                events.add(resultUpdated(before, row));
+                students.add(before.studentId());
+                // a later row for the same enrollment starts from this one
+                current.put(row.enrollmentId(), before.withResult(row.grade(), row.marks()));
+            }
+            if (!writable.isEmpty()) {
+                resultRepository.upsertAll(writable);
+                transcriptService.apply(standings);
+                domainEvents.publishAll(events);
+                studentEnrollments.evictAfterCommit(students);
+            }
+            return writable.size();
+        }
+    }
+
+    private static DomainEvent resultUpdated(GradeState before, GradeRow row) {
+        return new DomainEvent.ResultUpdated(row.enrollmentId(), before.studentId(), before.courseId(),
+                before.grade(), before.marks(), row.grade(), row.marks());
+    }
+
+    private static GradeRow parseCsv(String line) {
+        String[] cols = line.split(",", -1);
+        if (cols.length != 3) {
+            throw new IllegalArgumentException("Expected enrollmentId,grade,marks");
+        }
+        try {
+            String grade = cols[1].strip();
+            String marks = cols[2].strip();
+            return new GradeRow(
+                    Long.valueOf(cols[0].strip()),
+                    grade.isEmpty() ? null : grade,
+                    marks.isEmpty() ? null : new BigDecimal(marks));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number");
+        }
+    }
+
+    private static GradeRow normalize(GradeRow row) {
+        BigDecimal marks = row.marks() == null ? null : row.marks().setScale(2, RoundingMode.HALF_UP);
+        String grade = row.grade() == null ? null : row.grade().strip();
+        return new GradeRow(row.enrollmentId(), grade, marks);
+    }
+
+    private static String validate(GradeRow row) {
+        if (row.enrollmentId() == null) {
+            return "enrollmentId is required";
+        }
+        if (row.grade() != null && row.grade().length() > 5) {
+            return "grade must be at most 5 characters";
+        }
+        if (row.marks() != null && (row.marks().signum() < 0 || row.marks().compareTo(MAX_MARKS) > 0)) {
+            return "marks must be between 0 and 100";
+        }
+        return null;
+    }
 }
@@ -0,0 +1,301 @@
+package com.university.cms.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.config.StartupOrder;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEventConsumer;
+import com.university.cms.events.OutboxSnapshot;
+import com.university.cms.repositories.CourseRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live seat counts for {@code GET /api/courses/availability/stream}. Seat changes from every
+ * instance arrive through the outbox; the courses touched within one {@code cms.availability.coalesce}
+ * window go out as a single {@code seats} event, serialized once and queued for every subscriber.
+ * A small pool of {@code cms.availability.senders} threads writes each subscriber's queue in order,
+ * so a slow client delays only itself; one that falls {@code cms.availability.max-pending} events
+ * behind is completed (its EventSource reconnects and starts over from a snapshot) and counted in
+ * {@code cms.availability.dropped}. Idle subscribers are parked async requests, so they cost no thread.
+ *
+ * Each event carries {@code [courseId, capacity, enrolled]} triples; a new subscriber first gets
+ * a {@code snapshot} with every course. Deleted courses are listed under {@code removed}.
+ */
+@Slf4j
+@Component
+public class SeatAvailabilityFeed implements DomainEventConsumer {
+
+    private static final Duration HEARTBEAT = Duration.ofSeconds(20);
+
+    private record Update(List<long[]> seats, List<Long> removed) {}
+
+    private final CourseRepository courseRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration coalesce;
+    private final Duration subscriptionTimeout;
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final Counter dropped;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet(); // joins and leaves do not copy the set
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "seat-availability");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    // guarded by this: current counts ([capacity, enrolled]) and the courses changed since the last tick
+    private Map<Long, int[]> seats = new HashMap<>();
+    private Map<Long, int[]> changed = new LinkedHashMap<>();
+    private List<Long> removed = new ArrayList<>();
+    private long lastSentNanos = System.nanoTime();
+
+    public SeatAvailabilityFeed(CourseRepository courseRepository,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${cms.availability.coalesce:500ms}") Duration coalesce,
+                                @Value("${cms.availability.subscription-timeout:30m}") Duration subscriptionTimeout,
+                                @Value("${cms.availability.max-subscribers:20000}") int maxSubscribers,
+                                @Value("${cms.availability.max-pending:16}") int maxPending,
+                                @Value("${cms.availability.senders:4}") int senders) {
+        this.courseRepository = courseRepository;
+        this.objectMapper = objectMapper;
+        this.coalesce = coalesce;
+        this.subscriptionTimeout = subscriptionTimeout;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senders, task -> {
+            Thread thread = new Thread(task, "seat-availability-send-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dropped = Counter.builder("cms.availability.dropped").register(meterRegistry);
+        Gauge.builder("cms.availability.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    /** Start sending; the counts are loaded by the outbox relay ({@link #rebuild}). */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.LOAD)
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::tick, coalesce.toMillis(), coalesce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /** A new subscriber, primed with a snapshot of every course; null when at capacity. */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(subscriptionTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        synchronized (this) {
+            List<long[]> all = new ArrayList<>(seats.size());
+            seats.forEach((courseId, counts) -> all.add(new long[] {courseId, counts[0], counts[1]}));
+            subscriber.offer(SseEmitter.event().name("snapshot").data(toJson(new Update(all, List.of()))).build());
+            subscribers.add(subscriber); // under the lock, so no tick falls between snapshot and subscription
+        }
+        return emitter;
+    }
+
+    @Override
+    public String name() {
+        return "seat-availability";
+    }
+
+    /** Reload every course's counts; subscribers get whatever differs with the next tick. */
+    @Override
+    public void rebuild(OutboxSnapshot snapshot) {
+        Map<Long, int[]> fresh = snapshot.read(() -> {
+            Map<Long, int[]> counts = new HashMap<>();
+            for (Object[] row : courseRepository.findSeatCounts()) {
+                counts.put((Long) row[0], new int[] {((Number) row[1]).intValue(), ((Number) row[2]).intValue()});
+            }
+            return counts;
+        });
+        synchronized (this) {
+            fresh.forEach((courseId, counts) -> {
+                if (!Arrays.equals(seats.get(courseId), counts)) {
+                    changed.put(courseId, counts);
+                }
+            });
+            seats.keySet().stream().filter(courseId -> !fresh.containsKey(courseId)).forEach(removed::add);
+            seats = fresh;
+        }
+    }
+
+    @Override
+    public synchronized void accept(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.EnrollmentCreated e) {
+                enrolled(e.courseId(), 1);
+            } else if (event instanceof DomainEvent.EnrollmentDropped e) {
+                enrolled(e.courseId(), -1);
+            } else if (event instanceof DomainEvent.CourseChanged e) {
+                if (e.change() == DomainEvent.CourseChanged.Change.DELETED) {
+                    seats.remove(e.courseId());
+                    changed.remove(e.courseId());
+                    removed.add(e.courseId());
+                } else {
+                    int[] counts = seats.computeIfAbsent(e.courseId(), id -> new int[2]);
+                    counts[0] = e.capacity();
+                    changed.put(e.courseId(), counts);
+                }
+            }
+        }
+    }
+
+    private void enrolled(Long courseId, int delta) {
+        int[] counts = seats.get(courseId);
+        if (counts != null) {
+            counts[1] = Math.max(0, counts[1] + delta);
+            changed.put(courseId, counts);
+        }
+    }
+
+    private void tick() {
+        try {
+            String data = drain();
+            if (data != null) {
+                broadcast(SseEmitter.event().name("seats").data(data));
+            } else if (System.nanoTime() - lastSentNanos > HEARTBEAT.toNanos()) {
+                broadcast(SseEmitter.event().comment("")); // keeps proxies from closing idle streams
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Seat availability tick failed", ex);
+        }
+    }
+
+    /** The coalesced update since the last tick, or null when nothing changed. */
+    private synchronized String drain() {
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return null;
+        }
+        List<long[]> updates = new ArrayList<>(changed.size());
+        changed.forEach((courseId, counts) -> updates.add(new long[] {courseId, counts[0], counts[1]}));
+        String data = toJson(new Update(updates, removed));
+        changed = new LinkedHashMap<>();
+        removed = new ArrayList<>();
+        return data;
+    }
+
+    /** Renders the event once and queues the same frames for every subscriber; never waits for a client. */
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        Set<DataWithMediaType> frames = event.build();
+        lastSentNanos = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(frames)) {
+                subscribers.remove(subscriber);
+                subscriber.drop();
+                dropped.increment();
+            }
+        }
+    }
+
+    /** One stream: frames waiting to be written, sent in order by at most one sender task at a time. */
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Set<DataWithMediaType>> pending = new ArrayBlockingQueue<>(maxPending);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /** Queues the frames; false when the subscriber is too far behind to take them. */
+        boolean offer(Set<DataWithMediaType> frames) {
+            if (!pending.offer(frames)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        /** Completes the stream once the send in progress, if any, returns. */
+        void drop() {
+            dropped = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> frames;
+                while (!dropped && (frames = pending.poll()) != null) {
+                    try {
+                        emitter.send(frames);
+                    } catch (IOException | IllegalStateException ex) { // client went away
+                        subscribers.remove(this);
+                        dropped = true;
+                        pending.clear();
+                        emitter.completeWithError(ex);
+                        return;
+                    }
+                }
+                if (dropped) {
+                    pending.clear();
+                    emitter.complete();
+                    return;
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true)); // frames queued after the last poll
+        }
+    }
+
+    private String toJson(Update update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize seat update", ex);
+        }
+    }
+}
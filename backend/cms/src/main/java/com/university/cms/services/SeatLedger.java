@@ -0,0 +1,72 @@
+package com.university.cms.services;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process view of which courses are full.
+ *
+ * The persisted {@code Course.enrolled} counter, changed only by the conditional
+ * UPDATEs in {@code CourseRepository}, is the source of truth. This ledger just
+ * lets a burst of requests for a full course be rejected without touching the
+ * database. A "full" mark expires after {@code cms.enrollment.full-course-ttl}
+ * so seats freed by another instance are picked up again.
+ */
+@Component
+public class SeatLedger {
+
+    private final ConcurrentMap<Long, Long> fullUntil = new ConcurrentHashMap<>();
+    private final long fullTtlNanos;
+
+    public SeatLedger(@Value("${cms.enrollment.full-course-ttl:2s}") Duration fullCourseTtl) {
+        this.fullTtlNanos = fullCourseTtl.toNanos();
+    }
+
+    public boolean isKnownFull(Long courseId) {
+        Long until = fullUntil.get(courseId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        fullUntil.remove(courseId, until);
+        return false;
+    }
+
+    public void markFull(Long courseId) {
+        fullUntil.put(courseId, System.nanoTime() + fullTtlNanos);
+    }
+
+    /** Forget any full mark once the surrounding transaction commits. */
+    public void seatFreed(Long courseId) {
+        afterCommit(() -> fullUntil.remove(courseId));
+    }
+
+    public void forget(Long courseId) {
+        fullUntil.remove(courseId);
+    }
+
+    public void clear() {
+        fullUntil.clear();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
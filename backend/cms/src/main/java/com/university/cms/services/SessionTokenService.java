@@ -0,0 +1,166 @@
+package com.university.cms.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.cms.dto.SessionPrincipal;
+import com.university.cms.entities.User;
+import com.university.cms.repositories.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stateless session tokens: {@code base64url(userId.expiresAt) + "." + base64url(HMAC-SHA256)}.
+ *
+ * A token is checked against the database once (HMAC, expiry, then the user's current admin
+ * flag); the result is kept in a bounded cache keyed by the token, so later requests cost a
+ * map lookup. Role changes take effect straight away on this instance; other instances pick
+ * them up within {@code cms.auth.cache-ttl}. Each entry remembers a global invalidation counter
+ * from before its database read, and {@link #invalidateUser} stamps the user with the next value,
+ * so any entry of theirs read before the change, even one still loading, is reloaded on its next
+ * use. Stamps are kept for twice the cache TTL, by when every entry they could catch has expired.
+ */
+@Slf4j
+@Service
+public class SessionTokenService {
+
+    private static final String HMAC = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final UserRepository userRepository;
+    private final SecretKeySpec key;
+    private final Duration tokenTtl;
+    private final Cache<String, Verified> verified;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Cache<Long, Long> invalidatedAt; // only users whose role changed lately
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokenService(UserRepository userRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${cms.auth.token-secret:}") String secret,
+                               @Value("${cms.auth.token-ttl:12h}") Duration tokenTtl,
+                               @Value("${cms.auth.cache-size:100000}") long cacheSize,
+                               @Value("${cms.auth.cache-ttl:60s}") Duration cacheTtl) {
+        this.userRepository = userRepository;
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC);
+        this.tokenTtl = tokenTtl;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl.multipliedBy(2))
+                .build();
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "auth.tokens");
+    }
+
+    public String issue(User user) {
+        long expiresAt = Instant.now().plus(tokenTtl).getEpochSecond();
+        String payload = ENCODER.encodeToString((user.getId() + "." + expiresAt).getBytes(StandardCharsets.UTF_8));
+        String token = payload + "." + ENCODER.encodeToString(sign(payload));
+        verified.put(token, new Verified(new SessionPrincipal(user.getId(), user.isAdmin(), expiresAt), invalidations.get()));
+        return token;
+    }
+
+    /** Resolve a bearer token; empty if it is forged, malformed, expired or its user is gone. */
+    public Optional<SessionPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        Verified entry = verified.get(token, this::load);
+        if (entry != null && isStale(entry)) {
+            verified.asMap().remove(token, entry); // read before the user's last role change
+            entry = verified.get(token, this::load);
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.principal().expiresAt() <= Instant.now().getEpochSecond()) {
+            verified.invalidate(token);
+            return Optional.empty();
+        }
+        return Optional.of(entry.principal());
+    }
+
+    /** Forget every verified token of a user, e.g. after their role changed; each is reloaded on its next use. */
+    public void invalidateUser(Long userId) {
+        invalidatedAt.asMap().merge(userId, invalidations.incrementAndGet(), Math::max);
+    }
+
+    private boolean isStale(Verified entry) {
+        Long invalidated = invalidatedAt.getIfPresent(entry.principal().userId());
+        return invalidated != null && entry.generation() < invalidated;
+    }
+
+    private Verified load(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            String[] claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\\.");
+            Long userId = Long.valueOf(claims[0]);
+            long expiresAt = Long.parseLong(claims[1]);
+            if (expiresAt <= Instant.now().getEpochSecond()) {
+                return null;
+            }
+            long generation = invalidations.get(); // before the read, so a change during it is caught
+            return userRepository.findById(userId)
+                    .map(user -> new Verified(new SessionPrincipal(user.getId(), user.isAdmin(), expiresAt), generation))
+                    .orElse(null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            return null; // bad base64 or claims
+        }
+    }
+
+    private record Verified(SessionPrincipal principal, long generation) {
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", ex);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (!secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("cms.auth.token-secret is not set; using a random key, sessions will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
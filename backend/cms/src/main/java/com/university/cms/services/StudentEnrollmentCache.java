@@ -0,0 +1,131 @@
+package com.university.cms.services;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEventConsumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Each student's enrollment list as served by {@code GET /api/enrollments/student/{id}}.
+ *
+ * Concurrent misses for one student share a single load, run on the first caller's thread
+ * while the others wait for its result; no map lock is held meanwhile. Memory is capped by
+ * {@code cms.enrollment.student-cache.max-rows} rows in total; rarely read students are evicted
+ * first. The writes on this instance evict the affected students once their transaction commits;
+ * writes on other instances arrive through the outbox. A load in flight when its student is
+ * evicted is not kept. {@code ttl} bounds what neither path sees (e.g. manual SQL).
+ * Hit rate and size are exported as the {@code enrollments.by-student} cache metrics.
+ */
+@Component
+public class StudentEnrollmentCache implements DomainEventConsumer {
+
+    private final boolean enabled;
+    private final AsyncCache<Long, List<EnrollmentDto>> byStudent;
+
+    public StudentEnrollmentCache(ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${cms.enrollment.student-cache.enabled:true}") boolean enabled,
+                                  @Value("${cms.enrollment.student-cache.max-rows:200000}") long maxRows,
+                                  @Value("${cms.enrollment.student-cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.byStudent = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Long studentId, List<EnrollmentDto> rows) -> rows.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, byStudent.synchronous(), "enrollments.by-student"));
+    }
+
+    /** The cached list, or the result of {@code loader}, which at most one caller per student runs at a time. */
+    public List<EnrollmentDto> get(Long studentId, Supplier<List<EnrollmentDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CompletableFuture<List<EnrollmentDto>> mine = new CompletableFuture<>();
+        CompletableFuture<List<EnrollmentDto>> current = byStudent.get(studentId, (id, executor) -> mine);
+        if (current != mine) {
+            return join(current);
+        }
+        try {
+            mine.complete(List.copyOf(loader.get()));
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex); // failed loads are dropped from the cache, waiters see the error
+            throw ex;
+        }
+        return mine.join();
+    }
+
+    /** Forget the student once the surrounding transaction commits (right away without one). */
+    public void evictAfterCommit(Long studentId) {
+        afterCommit(() -> byStudent.synchronous().invalidate(studentId));
+    }
+
+    public void evictAfterCommit(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            List<Long> ids = List.copyOf(studentIds);
+            afterCommit(() -> byStudent.synchronous().invalidateAll(ids));
+        }
+    }
+
+    @Override
+    public String name() {
+        return "student-enrollments";
+    }
+
+    @Override
+    public void accept(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.EnrollmentCreated e) {
+                byStudent.synchronous().invalidate(e.studentId());
+            } else if (event instanceof DomainEvent.EnrollmentDropped e) {
+                byStudent.synchronous().invalidate(e.studentId());
+            } else if (event instanceof DomainEvent.ResultUpdated e) {
+                byStudent.synchronous().invalidate(e.studentId());
+            } else if (event instanceof DomainEvent.CourseChanged e && e.change() != DomainEvent.CourseChanged.Change.CREATED) {
+                byStudent.synchronous().invalidateAll(); // code and title are in every row; course edits are rare
+            }
+        }
+    }
+
+    private static List<EnrollmentDto> join(CompletableFuture<List<EnrollmentDto>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package com.university.cms.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.config.StartupOrder;
+import com.university.cms.dto.CohortEntry;
+import com.university.cms.dto.GradeState;
+import com.university.cms.dto.StandingDelta;
+import com.university.cms.dto.Transcript;
+import com.university.cms.dto.TranscriptLine;
+import com.university.cms.entities.StudentStanding;
+import com.university.cms.repositories.EnrollmentRepository;
+import com.university.cms.repositories.ResultRepository;
+import com.university.cms.repositories.StudentStandingRepository;
+import com.university.cms.repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Transcripts, credit-weighted GPAs and GPA rankings backed by {@link StudentStanding} running
+ * totals. Every grade change, dropped graded enrollment and credit change adds its delta in the
+ * transaction that makes it, so reading a GPA is a primary-key lookup and the top N is an index walk.
+ */
+@Service
+@RequiredArgsConstructor
+public class TranscriptService {
+
+    private final StudentStandingRepository standingRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ResultRepository resultRepository;
+    private final UserRepository userRepository;
+
+    @Value("${cms.transcripts.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${cms.paging.max-size:500}")
+    private int maxCohortSize;
+
+    @Transactional(readOnly = true)
+    public Transcript getTranscript(Long studentId) {
+        if (!userRepository.existsById(studentId)) {
+            throw new IllegalArgumentException("Student not found");
+        }
+        List<TranscriptLine> lines = enrollmentRepository.findTranscriptLines(studentId);
+        return standingRepository.findById(studentId)
+                .map(s -> new Transcript(studentId, lines, s.getGradedCredits(),
+                        s.getGpa() == null ? null : s.getGpa().doubleValue(),
+                        s.getMarkedCredits() == 0 ? null
+                                : Math.round((double) s.getWeightedMarks() / s.getMarkedCredits()) / 100.0))
+                .orElseGet(() -> new Transcript(studentId, lines, 0, null, null));
+    }
+
+    /** Top {@code n} students by GPA with at least {@code minCredits} graded credits. */
+    @Transactional(readOnly = true)
+    public List<CohortEntry> topStudents(int n, int minCredits) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be at least 1");
+        }
+        return standingRepository.findTop(Math.max(minCredits, 0), Limit.of(Math.min(n, maxCohortSize)));
+    }
+
+    /** Delta for one result going from {@code before} to the new grade/marks. */
+    static StandingDelta delta(GradeState before, String grade, BigDecimal marks) {
+        return contribution(before.studentId(), before.credits(), grade, marks)
+                .plus(negate(contribution(before.studentId(), before.credits(), before.grade(), before.marks())));
+    }
+
+    /** Adds the deltas to the students' totals; call inside the transaction that changes the results. */
+    public void apply(Collection<StandingDelta> deltas) {
+        Map<Long, StandingDelta> byStudent = new LinkedHashMap<>();
+        for (StandingDelta d : deltas) {
+            byStudent.merge(d.studentId(), d, StandingDelta::plus);
+        }
+        byStudent.values().removeIf(StandingDelta::isZero);
+        standingRepository.addAll(byStudent.values());
+    }
+
+    /** A graded enrollment was removed. */
+    public void enrollmentDropped(Long studentId, int credits, String grade, BigDecimal marks) {
+        apply(List.of(negate(contribution(studentId, credits, grade, marks))));
+    }
+
+    /**
+     * Re-weights every result of the course; {@code newCredits = 0} takes the course out of all totals.
+     * The course's enrollments stay locked until the caller commits, so no grade change in the course
+     * is weighted with the old credits after being read here.
+     */
+    public void courseCreditsChanged(Long courseId, int oldCredits, int newCredits) {
+        if (oldCredits == newCredits) {
+            return;
+        }
+        List<StandingDelta> deltas = new ArrayList<>();
+        for (Object[] row : resultRepository.lockGradesByCourseId(courseId)) {
+            Long studentId = (Long) row[0];
+            String grade = (String) row[1];
+            BigDecimal marks = (BigDecimal) row[2];
+            deltas.add(contribution(studentId, newCredits, grade, marks)
+                    .plus(negate(contribution(studentId, oldCredits, grade, marks))));
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Recompute all standings from the results table (repair). Emptying student_standings first
+     * locks all of it (rows and, under repeatable read, the gaps between them) until commit: writers
+     * that already added a delta are waited for, later ones queue behind the rebuild and add theirs
+     * to its totals. The results are read after that, so each change is counted exactly once.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        standingRepository.deleteAllInBatch();
+        Map<Long, StandingDelta> totals = new LinkedHashMap<>();
+        for (Object[] row : resultRepository.aggregateByStudent()) {
+            Long studentId = (Long) row[0];
+            int points = GradeScale.points((String) row[1]);
+            long credits = ((Number) row[2]).longValue();
+            long count = ((Number) row[3]).longValue();
+            long marked = ((Number) row[4]).longValue();
+            long marksHundredths = row[5] == null ? 0
+                    : new BigDecimal(row[5].toString()).movePointRight(2).longValue();
+            StandingDelta group = new StandingDelta(studentId,
+                    points == GradeScale.NO_POINTS ? 0 : (int) (credits * count),
+                    points == GradeScale.NO_POINTS ? 0 : credits * count * points,
+                    (int) (credits * marked),
+                    credits * marksHundredths);
+            totals.merge(studentId, group, StandingDelta::plus);
+        }
+        standingRepository.addAll(totals.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.REPAIR)
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    private static StandingDelta contribution(Long studentId, int credits, String grade, BigDecimal marks) {
+        int points = GradeScale.points(grade);
+        boolean hasPoints = points != GradeScale.NO_POINTS;
+        return new StandingDelta(studentId,
+                hasPoints ? credits : 0,
+                hasPoints ? (long) credits * points : 0,
+                marks != null ? credits : 0,
+                marks != null ? credits * marks.movePointRight(2).longValue() : 0);
+    }
+
+    private static StandingDelta negate(StandingDelta d) {
+        return new StandingDelta(d.studentId(), -d.gradedCredits(), -d.qualityPoints(), -d.markedCredits(),
+                -d.weightedMarks());
+    }
+}
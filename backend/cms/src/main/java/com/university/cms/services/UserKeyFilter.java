@@ -0,0 +1,89 @@
+package com.university.cms.services;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.cms.repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bloom filters over every email and username, so bulk provisioning only asks the database about
+ * keys that might be taken. Built from the users table on first use and fed by every user created
+ * on this instance; users created elsewhere are still caught by the unique keys on insert.
+ * Keys are lower-cased, matching the case-insensitive collation of the unique indexes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserKeyFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cms.users.key-filter.expected-keys:1000000}")
+    private long expectedKeys;
+    @Value("${cms.users.key-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private record Filters(BloomFilter emails, BloomFilter usernames, AtomicLong added) {}
+
+    private volatile Filters filters;
+
+    public boolean mightContainEmail(String email) {
+        return filters().emails().mightContain(key(email));
+    }
+
+    public boolean mightContainUsername(String username) {
+        return filters().usernames().mightContain(key(username));
+    }
+
+    public void add(String email, String username) {
+        Filters current = filters;
+        if (current != null) { // otherwise the user is picked up when the filters are built
+            current.emails().put(key(email));
+            current.usernames().put(key(username));
+            current.added().incrementAndGet();
+        }
+    }
+
+    static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /** Built on first use; rebuilt bigger once more keys went in than it was sized for. */
+    private Filters filters() {
+        Filters current = filters;
+        if (current != null && current.added().get() <= current.emails().capacity()) {
+            return current;
+        }
+        synchronized (this) {
+            current = filters;
+            if (current == null || current.added().get() > current.emails().capacity()) {
+                current = load();
+                filters = current;
+            }
+            return current;
+        }
+    }
+
+    private Filters load() {
+        long users = userRepository.count();
+        long size = Math.max(expectedKeys, users * 2);
+        Filters fresh = new Filters(new BloomFilter(size, falsePositiveRate), new BloomFilter(size, falsePositiveRate),
+                new AtomicLong(users));
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> keys = userRepository.streamKeys()) {
+                keys.forEach(row -> {
+                    fresh.emails().put(key((String) row[0]));
+                    fresh.usernames().put(key((String) row[1]));
+                });
+            }
+        });
+        return fresh;
+    }
+}
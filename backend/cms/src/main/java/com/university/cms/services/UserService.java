@@ -1,9 +1,33 @@
 package com.university.cms.services;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.dto.BulkReport;
+import com.university.cms.dto.KeysetPage;
+import com.university.cms.dto.UserRow;
+import com.university.cms.dto.UserView;
 import com.university.cms.entities.User;
 import com.university.cms.repositories.UserRepository;
 
@@ -14,6 +38,16 @@ import lombok.RequiredArgsConstructor;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final SessionTokenService sessionTokenService;
+    private final UserKeyFilter keyFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cms.paging.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${cms.users.batch-size:1000}")
+    private int batchSize;
 
     public User registerUser(String email, String username, String password, boolean isAdmin) {
         if (userRepository.existsByEmail(email)) {
@@ -30,7 +64,47 @@ public class UserService {
                 .isAdmin(isAdmin)
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        keyFilter.add(email, username);
+        return saved;
+    }
+
+    /** Bulk create from a JSON array of {email, username, password, admin}, parsed one element at a time */
+    public BulkReport provisionUsers(InputStream json) throws IOException {
+        BulkProvision bulk = new BulkProvision();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of users");
+            }
+            int rowNo = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                bulk.add(++rowNo, parser.readValueAs(UserRow.class));
+            }
+        }
+        return bulk.finish();
+    }
+
+    /**
+     * Bulk create from CSV lines {@code email,username,password[,admin]} (header optional), read as
+     * they arrive. Row numbers in the report are line numbers.
+     */
+    public BulkReport provisionUsersCsv(Reader csv) throws IOException {
+        BulkProvision bulk = new BulkProvision();
+        BufferedReader reader = new BufferedReader(csv);
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank() || (lineNo == 1 && line.strip().toLowerCase().startsWith("email"))) {
+                continue; // blank line or header
+            }
+            try {
+                bulk.add(lineNo, parseCsv(line));
+            } catch (IllegalArgumentException ex) {
+                bulk.reject(lineNo, line, ex.getMessage());
+            }
+        }
+        return bulk.finish();
     }
 
     public Optional<User> login(String email, String password) {
@@ -38,14 +112,178 @@ public class UserService {
                 .filter(user -> user.getPassword().equals(password));
     }
 
-    public Iterable<User> findAll() {
-        return userRepository.findAll();
+    public List<UserView> findAll() {
+        return userRepository.findAllViews();
+    }
+
+    /** Keyset page of users ordered by id */
+    public KeysetPage<UserView> findPage(Long after, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<UserView> rows = userRepository.findViewsAfter(after == null ? 0L : after, Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, UserView::id);
+    }
+
+    /** Hand every user to {@code sink} straight off a forward-only cursor */
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<? super UserView> sink) {
+        try (Stream<UserView> users = userRepository.streamAll()) {
+            users.forEach(sink);
+        }
     }
 
     public User updateAdminStatus(Long userId, boolean isAdmin) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         user.setAdmin(isAdmin);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        sessionTokenService.invalidateUser(userId); // next request re-reads the role
+        return saved;
+    }
+
+    /**
+     * Accumulates valid rows and writes a chunk once it reaches {@code cms.users.batch-size}: keys the
+     * {@link UserKeyFilter} has never seen are free without asking, the few possible hits are confirmed
+     * with one IN query per key type, and the rest goes in as one JDBC batch.
+     */
+    private final class BulkProvision {
+        private final BulkReport.Tally tally = new BulkReport.Tally();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final List<UserRow> chunk = new ArrayList<>();
+        private final List<Integer> chunkRows = new ArrayList<>();
+
+        void add(int rowNo, UserRow raw) {
+            if (raw == null) {
+                reject(rowNo, null, "Empty row");
+                return;
+            }
+            UserRow row = normalize(raw);
+            String problem = validate(row);
+            if (problem == null && seenEmails.contains(UserKeyFilter.key(row.email()))) {
+                problem = "Duplicate email in this upload";
+            }
+            if (problem == null && seenUsernames.contains(UserKeyFilter.key(row.username()))) {
+                problem = "Duplicate username in this upload";
+            }
+            if (problem != null) {
+                reject(rowNo, row.email(), problem);
+                return;
+            }
+            seenEmails.add(UserKeyFilter.key(row.email()));
+            seenUsernames.add(UserKeyFilter.key(row.username()));
+            tally.received();
+            chunk.add(row);
+            chunkRows.add(rowNo);
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int rowNo, Object key, String message) {
+            tally.received();
+            tally.failed(rowNo, key, message);
+        }
+
+        BulkReport finish() {
+            flush();
+            return tally.toReport();
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<UserRow> rows = List.copyOf(chunk);
+            List<Integer> rowNos = List.copyOf(chunkRows);
+            chunk.clear();
+            chunkRows.clear();
+
+            Set<String> takenEmails = taken(rows.stream().map(UserRow::email)
+                    .filter(keyFilter::mightContainEmail).toList(), userRepository::findExistingEmails);
+            Set<String> takenUsernames = taken(rows.stream().map(UserRow::username)
+                    .filter(keyFilter::mightContainUsername).toList(), userRepository::findExistingUsernames);
+
+            List<User> users = new ArrayList<>(rows.size());
+            List<Integer> userRows = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                UserRow row = rows.get(i);
+                if (takenEmails.contains(UserKeyFilter.key(row.email()))) {
+                    tally.failed(rowNos.get(i), row.email(), "Email already in use");
+                } else if (takenUsernames.contains(UserKeyFilter.key(row.username()))) {
+                    tally.failed(rowNos.get(i), row.email(), "Username already in use");
+                } else {
+                    users.add(User.builder()
+                            .email(row.email())
+                            .username(row.username())
+                            .password(row.password())   // ⚠ stored in plain text, as in registerUser
+                            .isAdmin(Boolean.TRUE.equals(row.admin()))
+                            .build());
+                    userRows.add(rowNos.get(i));
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.insertAll(users));
+                users.forEach(u -> keyFilter.add(u.getEmail(), u.getUsername()));
+                tally.succeeded(users.size());
+            } catch (DataIntegrityViolationException batchFailure) {
+                // a key was registered since we checked (e.g. on another instance): one by one,
+                // so only the rows that really collide are reported
+                for (int i = 0; i < users.size(); i++) {
+                    User user = users.get(i);
+                    try {
+                        userRepository.insertAll(List.of(user));
+                        keyFilter.add(user.getEmail(), user.getUsername());
+                        tally.succeeded(1);
+                    } catch (DataIntegrityViolationException ex) {
+                        tally.failed(userRows.get(i), user.getEmail(), duplicateMessage(ex));
+                    }
+                }
+            }
+        }
+
+        private Set<String> taken(List<String> candidates, Function<List<String>, List<String>> lookup) {
+            Set<String> taken = new HashSet<>();
+            if (!candidates.isEmpty()) {
+                lookup.apply(candidates).forEach(key -> taken.add(UserKeyFilter.key(key)));
+            }
+            return taken;
+        }
+    }
+
+    private static String duplicateMessage(DataIntegrityViolationException ex) {
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(ex).getMessage()).toLowerCase();
+        if (message.contains("uk_users_email")) {
+            return "Email already in use";
+        }
+        return message.contains("uk_users_username") ? "Username already in use" : "Could not save user";
+    }
+
+    private static UserRow parseCsv(String line) {
+        String[] cols = line.split(",", -1);
+        if (cols.length != 3 && cols.length != 4) {
+            throw new IllegalArgumentException("Expected email,username,password[,admin]");
+        }
+        return new UserRow(cols[0], cols[1], cols[2], cols.length == 4 && Boolean.parseBoolean(cols[3].strip()));
+    }
+
+    private static UserRow normalize(UserRow row) {
+        return new UserRow(
+                row.email() == null ? null : row.email().strip(),
+                row.username() == null ? null : row.username().strip(),
+                row.password(),
+                row.admin());
+    }
+
+    private static String validate(UserRow row) {
+        if (row.email() == null || row.email().isEmpty() || row.email().indexOf('@') < 1 || row.email().length() > 255) {
+            return "A valid email of at most 255 characters is required";
+        }
+        if (row.username() == null || row.username().isEmpty() || row.username().length() > 100) {
+            return "username is required (at most 100 characters)";
+        }
+        if (row.password() == null || row.password().isBlank() || row.password().length() > 255) {
+            return "password is required (at most 255 characters)";
+        }
+        return null;
     }
 }
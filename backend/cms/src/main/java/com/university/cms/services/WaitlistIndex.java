@@ -0,0 +1,111 @@
+package com.university.cms.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+
+import com.university.cms.dto.WaitlistPosition;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEventConsumer;
+import com.university.cms.events.OutboxSnapshot;
+import com.university.cms.repositories.WaitlistRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory copy of every course's waitlist, ordered by entry id, so students can poll their
+ * place in line without touching the database. Fed by the waitlist events of every instance
+ * (via the outbox); the {@code waitlist_entries} table stays the source of truth for promotion.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistIndex implements DomainEventConsumer {
+
+    private final WaitlistRepository waitlistRepository;
+
+    private record Spot(Long entryId, LocalDateTime joinedAt) {}
+
+    // guarded by this; queues are a few hundred entries at most, so a rank is a short walk
+    private Map<Long, TreeSet<Long>> queues = new HashMap<>();
+    private Map<Long, Map<Long, Spot>> students = new HashMap<>();
+
+    /** Where the student stands on each course they are waiting for, in the order they joined. */
+    public synchronized List<WaitlistPosition> positions(Long studentId) {
+        Map<Long, Spot> spots = students.getOrDefault(studentId, Map.of());
+        List<WaitlistPosition> result = new ArrayList<>(spots.size());
+        spots.forEach((courseId, spot) -> {
+            TreeSet<Long> queue = queues.get(courseId);
+            if (queue != null) {
+                result.add(new WaitlistPosition(spot.entryId(), studentId, courseId,
+                        queue.headSet(spot.entryId()).size() + 1, spot.joinedAt()));
+            }
+        });
+        result.sort(Comparator.comparing(WaitlistPosition::entryId));
+        return result;
+    }
+
+    public synchronized int length(Long courseId) {
+        TreeSet<Long> queue = queues.get(courseId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /** Reload every queue from the database and swap the result in; run by the outbox relay. */
+    @Override
+    public void rebuild(OutboxSnapshot snapshot) {
+        List<Object[]> rows = snapshot.read(waitlistRepository::findAllInOrder);
+        Map<Long, TreeSet<Long>> freshQueues = new HashMap<>();
+        Map<Long, Map<Long, Spot>> freshStudents = new HashMap<>();
+        for (Object[] row : rows) {
+            add(freshQueues, freshStudents, (Long) row[0], (Long) row[1], (Long) row[2], (LocalDateTime) row[3]);
+        }
+        synchronized (this) {
+            queues = freshQueues;
+            students = freshStudents;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "waitlists";
+    }
+
+    @Override
+    public synchronized void accept(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.WaitlistJoined e) {
+                add(queues, students, e.entryId(), e.studentId(), e.courseId(), e.joinedAt());
+            } else if (event instanceof DomainEvent.WaitlistLeft e) {
+                remove(e.entryId(), e.studentId(), e.courseId());
+            } else if (event instanceof DomainEvent.CourseChanged e
+                    && e.change() == DomainEvent.CourseChanged.Change.DELETED) {
+                TreeSet<Long> queue = queues.remove(e.courseId());
+                if (queue != null) { // entries went with the course (on delete cascade)
+                    students.values().forEach(spots -> spots.remove(e.courseId()));
+                }
+            }
+        }
+    }
+
+    private static void add(Map<Long, TreeSet<Long>> queues, Map<Long, Map<Long, Spot>> students,
+                            Long entryId, Long studentId, Long courseId, LocalDateTime joinedAt) {
+        queues.computeIfAbsent(courseId, id -> new TreeSet<>()).add(entryId);
+        students.computeIfAbsent(studentId, id -> new HashMap<>()).put(courseId, new Spot(entryId, joinedAt));
+    }
+
+    private void remove(Long entryId, Long studentId, Long courseId) {
+        TreeSet<Long> queue = queues.get(courseId);
+        if (queue != null && queue.remove(entryId) && queue.isEmpty()) {
+            queues.remove(courseId);
+        }
+        Map<Long, Spot> spots = students.get(studentId);
+        if (spots != null && spots.remove(courseId) != null && spots.isEmpty()) {
+            students.remove(studentId);
+        }
+    }
+}
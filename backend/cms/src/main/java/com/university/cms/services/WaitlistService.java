@@ -0,0 +1,130 @@
+package com.university.cms.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.dto.WaitlistPosition;
+import com.university.cms.entities.Course;
+import com.university.cms.entities.Enrollment;
+import com.university.cms.entities.WaitlistEntry;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEvents;
+import com.university.cms.repositories.CourseRepository;
+import com.university.cms.repositories.EnrollmentRepository;
+import com.university.cms.repositories.UserRepository;
+import com.university.cms.repositories.WaitlistRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-course waitlists. Joining and promoting both happen under the course row lock (joins
+ * lock it explicitly, drops take it with the seat UPDATE), so a seat freed while a student
+ * is being queued is never lost: either the join sees the free seat or the drop sees the entry.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final WaitlistIndex index;
+    private final DomainEvents domainEvents;
+    private final StudentEnrollmentCache studentEnrollments;
+
+    /**
+     * Queue the student for a course that was found full; joining twice keeps the original place.
+     * Empty when a seat has come free in the meantime, so the caller should enroll instead.
+     */
+    @Transactional
+    public Optional<WaitlistPosition> join(Long studentId, Long courseId) {
+        List<Course> locked = courseRepository.lockAllById(List.of(courseId));
+        if (locked.isEmpty()) {
+            throw new IllegalArgumentException("Course not found");
+        }
+        Course course = locked.get(0);
+        Optional<WaitlistEntry> existing = waitlistRepository.findByStudentIdAndCourseId(studentId, courseId);
+        if (existing.isPresent()) {
+            return existing.map(this::positionOf);
+        }
+        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+            throw new IllegalArgumentException("Already enrolled in this course");
+        }
+        if (course.getEnrolled() < course.getCapacity()) {
+            return Optional.empty();
+        }
+        if (!userRepository.existsById(studentId)) {
+            throw new IllegalArgumentException("Student not found");
+        }
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .student(userRepository.getReferenceById(studentId))
+                .course(course)
+                .joinedAt(LocalDateTime.now())
+                .build());
+        domainEvents.publish(new DomainEvent.WaitlistJoined(entry.getId(), studentId, courseId, entry.getJoinedAt()));
+        return Optional.of(positionOf(entry));
+    }
+
+    @Transactional
+    public void leave(Long studentId, Long courseId) {
+        waitlistRepository.findByStudentIdAndCourseId(studentId, courseId).ifPresent(entry -> {
+            waitlistRepository.delete(entry);
+            domainEvents.publish(new DomainEvent.WaitlistLeft(entry.getId(), studentId, courseId, false));
+        });
+    }
+
+    /**
+     * Hand up to {@code seats} free seats to the front of the course's waitlist, inside the
+     * caller's transaction, which must already hold the course row lock. Students who got in
+     * some other way are dropped from the queue. Returns how many were enrolled.
+     */
+    @Transactional
+    public int promote(Long courseId, int seats) {
+        int promoted = 0;
+        while (promoted < seats) {
+            List<WaitlistEntry> head = waitlistRepository.findByCourseIdOrderByIdAsc(courseId, Limit.of(1));
+            if (head.isEmpty()) {
+                break;
+            }
+            WaitlistEntry entry = head.get(0);
+            Long studentId = entry.getStudent().getId();
+            if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+                waitlistRepository.delete(entry);
+                domainEvents.publish(new DomainEvent.WaitlistLeft(entry.getId(), studentId, courseId, false));
+                continue;
+            }
+            if (courseRepository.reserveSeat(courseId) == 0) {
+                break;
+            }
+            Enrollment enrollment = enrollmentRepository.save(Enrollment.builder()
+                    .student(entry.getStudent())
+                    .course(entry.getCourse())
+                    .enrolledAt(LocalDateTime.now())
+                    .build());
+            waitlistRepository.delete(entry);
+            domainEvents.publishAll(List.of(
+                    new DomainEvent.EnrollmentCreated(enrollment.getId(), studentId, courseId),
+                    new DomainEvent.WaitlistLeft(entry.getId(), studentId, courseId, true)));
+            studentEnrollments.evictAfterCommit(studentId);
+            promoted++;
+        }
+        return promoted;
+    }
+
+    /** Served from the {@link WaitlistIndex}; may trail a join by the outbox delay. */
+    public List<WaitlistPosition> positions(Long studentId) {
+        return index.positions(studentId);
+    }
+
+    private WaitlistPosition positionOf(WaitlistEntry entry) {
+        long ahead = waitlistRepository.countByCourseIdAndIdLessThan(entry.getCourse().getId(), entry.getId());
+        return new WaitlistPosition(entry.getId(), entry.getStudent().getId(), entry.getCourse().getId(),
+                (int) ahead + 1, entry.getJoinedAt());
+    }
+}
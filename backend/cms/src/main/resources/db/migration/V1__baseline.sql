@@ -0,0 +1,88 @@
+-- Schema as of the switch from ddl-auto update to Flyway (fast-startup profile).
+-- Databases that ddl-auto already created are baselined at this version instead of running it.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    username varchar(100) not null,
+    password varchar(255) not null,
+    is_admin bit not null,
+    primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table courses (
+    id bigint not null auto_increment,
+    code varchar(20) not null,
+    title varchar(255) not null,
+    description text,
+    credits integer not null,
+    capacity integer not null,
+    enrolled integer not null,
+    active bit not null,
+    primary key (id),
+    constraint uk_courses_code unique (code)
+) engine=InnoDB;
+
+create table enrollments (
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    course_id bigint not null,
+    enrolled_at datetime(6) not null,
+    primary key (id),
+    constraint uk_enrollment_student_course unique (student_id, course_id),
+    constraint fk_enrollment_student foreign key (student_id) references users (id),
+    constraint fk_enrollment_course foreign key (course_id) references courses (id)
+) engine=InnoDB;
+
+create table results (
+    id bigint not null auto_increment,
+    enrollment_id bigint not null,
+    grade varchar(5),
+    marks decimal(5,2),
+    primary key (id),
+    constraint uk_results_enrollment unique (enrollment_id),
+    constraint fk_results_enrollment foreign key (enrollment_id) references enrollments (id)
+) engine=InnoDB;
+
+create table student_standings (
+    student_id bigint not null,
+    graded_credits integer not null,
+    quality_points bigint not null,
+    marked_credits integer not null,
+    weighted_marks bigint not null,
+    gpa decimal(4,3),
+    primary key (student_id),
+    constraint fk_standings_student foreign key (student_id) references users (id)
+) engine=InnoDB;
+
+create index ix_standings_gpa on student_standings (gpa desc, student_id);
+
+create table waitlist_entries (
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    course_id bigint not null,
+    joined_at datetime(6) not null,
+    primary key (id),
+    constraint uk_waitlist_student_course unique (student_id, course_id),
+    constraint fk_waitlist_student foreign key (student_id) references users (id) on delete cascade,
+    constraint fk_waitlist_course foreign key (course_id) references courses (id) on delete cascade
+) engine=InnoDB;
+
+create index ix_waitlist_course on waitlist_entries (course_id, id);
+
+create table outbox_events (
+    id bigint not null auto_increment,
+    type varchar(40) not null,
+    payload text not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table outbox_offsets (
+    consumer varchar(64) not null,
+    position bigint not null,
+    updated_at datetime(6) not null,
+    primary key (consumer)
+) engine=InnoDB;
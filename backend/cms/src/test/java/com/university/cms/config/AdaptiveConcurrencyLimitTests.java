@@ -0,0 +1,36 @@
+package com.university.cms.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTests {
+
+    @Test
+    void rejectsAtTheLimitAndShrinksItWhenStatementsSlowDown() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100, 1.5);
+        for (int i = 0; i < 20; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+
+        for (int i = 0; i < 200; i++) { // a busy, healthy baseline of 1ms statements
+            limit.release(1_000_000);
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        int healthy = limit.limit();
+        assertThat(healthy).isGreaterThan(20);
+
+        int held = limit.inFlight();
+        for (int i = 0; i < 200; i++) { // the database slows down tenfold
+            limit.release(10_000_000);
+            held--;
+            while (limit.tryAcquire()) {
+                held++;
+            }
+        }
+        assertThat(limit.inFlight()).isEqualTo(held).isLessThanOrEqualTo(limit.limit());
+        assertThat(limit.limit()).isLessThan(healthy).isGreaterThanOrEqualTo(5);
+        assertThat(limit.latencyMillis()).isGreaterThan(limit.baselineMillis());
+    }
+}
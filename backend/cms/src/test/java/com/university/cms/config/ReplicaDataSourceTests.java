@@ -0,0 +1,119 @@
+package com.university.cms.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/** Two embedded H2 databases standing in for a primary and its replica. */
+class ReplicaDataSourceTests {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        DataSource routed = routed(List.of(replica));
+
+        assertThat(whoAnswers(routed, true)).isEqualTo("replica");
+        assertThat(whoAnswers(routed, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void aPinnedThreadReadsItsOwnWritesFromThePrimary() {
+        DataSource routed = routed(List.of(replica));
+
+        ReplicaDataSource.pinToPrimary();
+        try {
+            assertThat(whoAnswers(routed, true)).isEqualTo("primary");
+        } finally {
+            ReplicaDataSource.unpin();
+        }
+        assertThat(whoAnswers(routed, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void anUnavailableReplicaIsSkippedAndWithoutReplicasReadsFallBackToThePrimary() {
+        DataSource broken = new DriverManagerDataSource("jdbc:unknown:nowhere");
+
+        DataSource withOneHealthy = routed(List.of(broken, replica));
+        for (int i = 0; i < 4; i++) {
+            assertThat(whoAnswers(withOneHealthy, true)).isEqualTo("replica");
+        }
+        assertThat(whoAnswers(routed(List.of(broken)), true)).isEqualTo("primary");
+    }
+
+    @Test
+    void explicitCredentialsArePassedToTheChosenPool() throws Exception {
+        ReplicaDataSource replicas = new ReplicaDataSource(primary, List.of(replica), Duration.ofMinutes(1));
+
+        try (Connection connection = replicas.getConnection("sa", "");
+             ResultSet rs = connection.createStatement().executeQuery("select name from whoami")) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualTo("replica");
+        }
+    }
+
+    @Test
+    void closingTheRoutedDataSourceClosesTheReplicaPoolsAndThePrimary() throws Exception {
+        HikariDataSource primaryPool = pool("primary");
+        HikariDataSource replicaPool = pool("replica");
+        ReplicaRoutingConfig.RoutedDataSource routed = new ReplicaRoutingConfig.RoutedDataSource(primaryPool,
+                new ReplicaDataSource(primaryPool, List.of(replicaPool), Duration.ofMinutes(1)));
+        assertThat(whoAnswers(routed, true)).isEqualTo("replica");
+
+        routed.close();
+
+        assertThat(primaryPool.isClosed()).isTrue();
+        assertThat(replicaPool.isClosed()).isTrue();
+    }
+
+    private DataSource routed(List<DataSource> replicas) {
+        LazyConnectionDataSourceProxy routed = new LazyConnectionDataSourceProxy(primary);
+        routed.setReadOnlyDataSource(new ReplicaDataSource(primary, replicas, Duration.ofMinutes(1)));
+        return routed;
+    }
+
+    private static String whoAnswers(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("select name from whoami", String.class));
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(1);
+        return pool;
+    }
+
+    private static DataSource database(String name) {
+        DataSource db = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(db);
+        jdbc.execute("create table if not exists whoami (name varchar(20))");
+        jdbc.update("delete from whoami");
+        jdbc.update("insert into whoami values (?)", name);
+        return db;
+    }
+}
@@ -0,0 +1,47 @@
+package com.university.cms.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.university.cms.dto.CatalogEntry;
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.dto.ResultView;
+import com.university.cms.dto.UserView;
+
+class ResponseSerializersTests {
+
+    private final ObjectMapper defaults = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper slim = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(ResponseSerializers.module())
+            .build();
+
+    @Test
+    void writesTheSameJsonAsTheDefaultSerializers() throws Exception {
+        List<Object> values = List.of(
+                new EnrollmentDto(1L, 2L, "ada", 3L, "CS101", "Data \"Structures\"",
+                        LocalDateTime.of(2025, 9, 1, 10, 0), "A-", 88.5),
+                new EnrollmentDto(4L, 5L, "bob", 6L, "CS102", "Networks", null, null, null),
+                new CourseView(7L, "CS103", "Compilers", null, 4, 60, true),
+                new CatalogEntry(8L, "CS104", "Ethics", null, 0, true),
+                new UserView(9L, "ada@uni.test", "ada", false),
+                new ResultView(10L, 1L, "B+", new BigDecimal("78.50")),
+                new ResultView(11L, 4L, null, null));
+
+        for (Object value : values) {
+            assertThat(slim.writeValueAsString(value)).isEqualTo(defaults.writeValueAsString(value));
+        }
+        assertThat(slim.writeValueAsString(values)).isEqualTo(defaults.writeValueAsString(values));
+    }
+}
@@ -0,0 +1,29 @@
+package com.university.cms.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketsTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void grantsTheBurstThenRefillsAtTheRate() {
+        TokenBuckets<Long> buckets = new TokenBuckets<>(2, 3, 100); // a token every 500ms, 3 at once
+        long now = 10 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire(1L, now)).isZero();
+        }
+        assertThat(buckets.tryAcquire(1L, now)).isEqualTo(SECOND / 2);
+        assertThat(buckets.tryAcquire(2L, now)).as("buckets are per key").isZero();
+
+        assertThat(buckets.tryAcquire(1L, now + SECOND / 2)).isZero();
+        assertThat(buckets.tryAcquire(1L, now + SECOND / 2)).isPositive();
+        assertThat(buckets.tryAcquire(1L, now + 10 * SECOND)).as("refills to the burst, no further").isZero();
+        assertThat(buckets.tryAcquire(1L, now + 10 * SECOND)).isZero();
+        assertThat(buckets.tryAcquire(1L, now + 10 * SECOND)).isZero();
+        assertThat(buckets.tryAcquire(1L, now + 10 * SECOND)).isPositive();
+    }
+}
@@ -0,0 +1,183 @@
+package com.university.cms.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.university.cms.entities.Course;
+import com.university.cms.entities.Enrollment;
+import com.university.cms.entities.Result;
+import com.university.cms.entities.User;
+import com.university.cms.events.DomainEvents;
+import com.university.cms.events.OutboxRelay;
+import com.university.cms.services.CourseSearchIndex;
+import com.university.cms.services.EnrollmentService;
+import com.university.cms.services.SeatLedger;
+import com.university.cms.services.StudentEnrollmentCache;
+import com.university.cms.services.TranscriptService;
+import com.university.cms.services.WaitlistIndex;
+import com.university.cms.services.WaitlistService;
+
+/**
+ * The export, written to a buffer the way the servlet container would. Segments are three rows,
+ * so the seven-row course ends mid-segment and the six-row one on a segment boundary.
+ */
+@DataJpaTest(properties = "cms.export.segment-size=3")
+@ActiveProfiles("test")
+@Import({EnrollmentService.class, SeatLedger.class, TranscriptService.class, WaitlistService.class, WaitlistIndex.class,
+        StudentEnrollmentCache.class, CourseSearchIndex.class, DomainEvents.class, OutboxRelay.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EnrollmentControllerTests {
+
+    private static final String AWKWARD_TITLE = "Data, \"Quoted\"\nand more";
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private EnrollmentController controller;
+    private Course awkward;
+    private Course even;
+    private final List<Long> enrollmentIds = new ArrayList<>();
+    private Long graded;
+
+    @BeforeEach
+    void createEnrollments() {
+        controller = new EnrollmentController(enrollmentService, objectMapper);
+        awkward = persistCourse("EXP1", AWKWARD_TITLE);
+        even = persistCourse("EXP2", "Evenly split");
+        for (int i = 0; i < 7; i++) {
+            enrollmentIds.add(persistEnrollment(persistUser("odd" + i), awkward).getId());
+            if (i < 6) {
+                enrollmentIds.add(persistEnrollment(persistUser("even" + i), even).getId());
+            }
+        }
+        graded = enrollmentIds.get(0);
+        em.persist(Result.builder().enrollment(em.find(Enrollment.class, graded)).grade("A")
+                .marks(new BigDecimal("91.50")).build());
+        em.flush();
+        em.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void csvHasTheHeaderAndEveryEnrollmentOnceInIdOrder(boolean gzip) throws IOException {
+        List<String> lines = List.of(export("csv", null, gzip).split("\r\n"));
+
+        assertThat(lines.get(0))
+                .isEqualTo("enrollmentId,studentId,studentUsername,courseId,courseCode,courseTitle,enrolledAt,grade,marks");
+        List<String> rows = lines.subList(1, lines.size());
+        assertThat(rows).extracting(row -> Long.valueOf(row.substring(0, row.indexOf(','))))
+                .containsExactlyElementsOf(enrollmentIds.stream().sorted().toList());
+        assertThat(rows.get(0))
+                .startsWith(graded + ",")
+                .contains(",odd0," + awkward.getId() + ",EXP1,\"Data, \"\"Quoted\"\"\nand more\",")
+                .endsWith(",A,91.5");
+        assertThat(rows).filteredOn(row -> row.contains(",EXP2,")).hasSize(6).allMatch(row -> row.endsWith(",,"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void ndjsonHasOneDocumentPerEnrollment(boolean gzip) throws IOException {
+        String body = export("ndjson", null, gzip);
+
+        assertThat(body).endsWith("\n");
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).extracting(row -> row.get("id").asLong())
+                .containsExactlyElementsOf(enrollmentIds.stream().sorted().toList());
+        assertThat(rows.get(0).get("courseTitle").asText()).isEqualTo(AWKWARD_TITLE);
+        assertThat(rows.get(0).get("marks").asDouble()).isEqualTo(91.5);
+    }
+
+    @Test
+    void aCourseExportEndingOnASegmentBoundaryHasNoDuplicatesOrGaps() throws IOException {
+        List<String> evenRows = List.of(export("csv", even.getId(), false).split("\r\n"));
+        List<String> awkwardRows = List.of(export("csv", awkward.getId(), false).split("\r\n"));
+
+        assertThat(evenRows.subList(1, evenRows.size()))
+                .hasSize(6).allMatch(row -> row.contains(",EXP2,")).doesNotHaveDuplicates();
+        assertThat(awkwardRows.subList(1, awkwardRows.size()))
+                .hasSize(7).allMatch(row -> row.contains(",EXP1,")).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void gzipIsAnnouncedInTheContentTypeAndFilename() {
+        ResponseEntity<StreamingResponseBody> response = controller.export("ndjson", even.getId(), true);
+
+        assertThat(response.getHeaders().getContentType()).hasToString("application/gzip");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .contains("enrollments-course-" + even.getId() + ".ndjson.gz");
+    }
+
+    private String export(String format, Long courseId, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        controller.export(format, courseId, gzip).getBody().writeTo(out);
+        byte[] body = out.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            }
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private User persistUser(String username) {
+        return em.persist(User.builder()
+                .email(username + "@uni.test")
+                .username(username)
+                .password("pw")
+                .build());
+    }
+
+    private Course persistCourse(String code, String title) {
+        return em.persist(Course.builder()
+                .code(code)
+                .title(title)
+                .credits(3)
+                .capacity(10)
+                .active(true)
+                .build());
+    }
+
+    private Enrollment persistEnrollment(User student, Course course) {
+        return em.persist(Enrollment.builder()
+                .student(student)
+                .course(course)
+                .enrolledAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,60 @@
+package com.university.cms.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class EventRingTests {
+
+    @Test
+    void everyConsumerSeesEveryEventInOrderDespiteTheRingBeingSmaller() throws Exception {
+        EventRing ring = new EventRing(8, 2);
+        List<EventRing.Envelope> events = LongStream.rangeClosed(1, 100)
+                .mapToObj(i -> new EventRing.Envelope(i, new DomainEvent.EnrollmentCreated(i, 1L, 1L)))
+                .toList();
+
+        CompletableFuture<List<Long>> fast = CompletableFuture.supplyAsync(() -> drain(ring, 0, 100, 0));
+        CompletableFuture<List<Long>> slow = CompletableFuture.supplyAsync(() -> drain(ring, 1, 100, 1));
+        ring.publish(events); // blocks until the slow consumer makes room
+
+        List<Long> expected = LongStream.rangeClosed(1, 100).boxed().toList();
+        assertThat(fast.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+        assertThat(slow.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+        assertThat(ring.remaining()).isEqualTo(8);
+    }
+
+    @Test
+    void closingReleasesWaitingConsumers() throws Exception {
+        EventRing ring = new EventRing(4, 1);
+        CompletableFuture<List<EventRing.Envelope>> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ring.take(0, 10);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        ring.close();
+        assertThat(waiting.get(10, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    private static List<Long> drain(EventRing ring, int consumer, int count, long pauseMillis) {
+        List<Long> seen = new ArrayList<>();
+        try {
+            while (seen.size() < count) {
+                List<EventRing.Envelope> batch = ring.take(consumer, 3);
+                batch.forEach(e -> seen.add(e.position()));
+                Thread.sleep(pauseMillis);
+                ring.done(consumer, batch.size());
+            }
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,118 @@
+package com.university.cms.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The relay against real outbox rows. Rows are inserted with explicit ids, committed, and the
+ * relay is woken by hand (its poll interval is an hour), so each test controls what it can see.
+ */
+@DataJpaTest(properties = {"cms.outbox.poll-interval=1h", "cms.outbox.gap-timeout=2s"})
+@ActiveProfiles("test")
+@Import({OutboxRelay.class, OutboxRelayTests.Recorder.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the relay only sees committed rows
+class OutboxRelayTests {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private Recorder recorder;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void forgetDeliveries() {
+        recorder.clear();
+    }
+
+    @Test
+    void aLateCommitWithinTheGapTimeoutIsDeliveredInOrder() throws Exception {
+        long base = maxId();
+        insert(base + 2, LocalDateTime.now().minusHours(1)); // its neighbour looks old; the gap is not
+        relay.wake();
+        Thread.sleep(300);
+        assertThat(recorder.received()).isEmpty();
+
+        insert(base + 1, LocalDateTime.now());
+        relay.wake();
+
+        assertThat(awaitReceived(2)).containsExactly(base + 1, base + 2);
+    }
+
+    @Test
+    void eventsARebuildAlreadySawAreNotDeliveredAgain() throws Exception {
+        long base = maxId();
+        insert(base + 1, LocalDateTime.now()); // committed, not relayed yet
+        relay.rebuild(recorder);
+        insert(base + 2, LocalDateTime.now()); // after the snapshot
+        relay.wake();
+
+        assertThat(awaitReceived(1)).containsExactly(base + 2);
+        Thread.sleep(200);
+        assertThat(recorder.received()).containsExactly(base + 2);
+    }
+
+    private long maxId() {
+        return jdbc.queryForObject("select coalesce(max(id), 0) from outbox_events", Long.class);
+    }
+
+    /** An enrollment event whose enrollment id is its outbox id, so deliveries can be told apart. */
+    private void insert(long id, LocalDateTime createdAt) {
+        jdbc.update("insert into outbox_events (id, type, payload, created_at) values (?, ?, ?, ?)",
+                id, "EnrollmentCreated", "{\"enrollmentId\":" + id + ",\"studentId\":1,\"courseId\":1}", createdAt);
+    }
+
+    private List<Long> awaitReceived(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (recorder.received().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return recorder.received();
+    }
+
+    static class Recorder implements DomainEventConsumer {
+
+        private final List<Long> received = new ArrayList<>();
+
+        @Override
+        public String name() {
+            return "recorder";
+        }
+
+        @Override
+        public synchronized void accept(List<DomainEvent> events) {
+            events.forEach(event -> received.add(((DomainEvent.EnrollmentCreated) event).enrollmentId()));
+        }
+
+        @Override
+        public void rebuild(OutboxSnapshot snapshot) {
+            snapshot.read(() -> null);
+        }
+
+        synchronized List<Long> received() {
+            return List.copyOf(received);
+        }
+
+        synchronized void clear() {
+            received.clear();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.university.cms.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-endpoint latencies and non-2xx responses from many client threads and reports
+ * throughput, percentiles and failures.
+ */
+class LatencyStats {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>(); // "endpoint status" -> count
+
+    void record(String endpoint, int status, long nanos) {
+        samples.computeIfAbsent(endpoint, k -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (status < 200 || status >= 300) {
+            failures.computeIfAbsent(endpoint + " " + status, k -> new LongAdder()).increment();
+        }
+    }
+
+    long count(String endpoint) {
+        return samples.getOrDefault(endpoint, new ConcurrentLinkedQueue<>()).size();
+    }
+
+    /** Non-2xx responses by endpoint and status. */
+    Map<String, Long> failures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    String report(String title, long elapsedNanos) {
+        StringBuilder out = new StringBuilder(title).append('\n');
+        out.append(String.format("  %-40s %8s %10s %9s %9s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "non-2xx"));
+        for (Map.Entry<String, ConcurrentLinkedQueue<Long>> entry : new TreeMap<>(samples).entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            long failed = failures.entrySet().stream()
+                    .filter(f -> f.getKey().startsWith(entry.getKey() + " "))
+                    .mapToLong(f -> f.getValue().sum())
+                    .sum();
+            out.append(String.format("  %-40s %8d %10.1f %9.2f %9.2f %8d%n",
+                    entry.getKey(),
+                    sorted.length,
+                    sorted.length / (elapsedNanos / 1e9),
+                    percentile(sorted, 0.50) / 1e6,
+                    percentile(sorted, 0.99) / 1e6,
+                    failed));
+        }
+        return out.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,8 @@
+package com.university.cms.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=false", "cms.admission.enabled=false"})
+class PlatformThreadsLoadTests extends ThreadingLoadTestSupport {
+}
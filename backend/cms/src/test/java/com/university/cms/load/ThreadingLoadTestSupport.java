@@ -0,0 +1,138 @@
+package com.university.cms.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.university.cms.entities.Course;
+import com.university.cms.entities.User;
+import com.university.cms.repositories.CourseRepository;
+import com.university.cms.repositories.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives the enrollment and course listing endpoints with many concurrent clients and logs
+ * throughput and p50/p99 per endpoint. Every request is one that should succeed (each student
+ * enrolls in a course at most once), so any non-2xx response fails the run. Subclasses choose
+ * the request-thread model so the two reports can be compared side by side.
+ */
+@Slf4j
+@Tag("benchmark")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+abstract class ThreadingLoadTestSupport {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int COURSES = 50;
+    private static final int STUDENTS = 2_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void enrollmentAndCatalogUnderLoad() throws Exception {
+        List<Long> courseIds = seedCourses();
+        List<Long> studentIds = seedStudents();
+        LatencyStats stats = new LatencyStats();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            clients.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    if (i % 2 == 0) {
+                        call(stats, "GET /api/courses", get("/api/courses"));
+                    } else {
+                        // the k-th enrollment goes to student k mod STUDENTS; the pass over the students
+                        // shifts the course, so no pair repeats and the courses share the load
+                        int k = client * (REQUESTS_PER_CLIENT / 2) + i / 2;
+                        long student = studentIds.get(k % STUDENTS);
+                        long course = courseIds.get((k % STUDENTS + k / STUDENTS) % COURSES);
+                        call(stats, "POST /api/enrollments/enroll", post("/api/enrollments/enroll",
+                                "{\"studentId\":" + student + ",\"courseId\":" + course + "}"));
+                    }
+                }
+                return null;
+            });
+        }
+        clients.shutdown();
+        assertThat(clients.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - start;
+
+        String mode = environment.getProperty("spring.threads.virtual.enabled", "false").equals("true")
+                ? "virtual threads" : "platform threads";
+        log.info("{}", stats.report("Request threads: " + mode + ", " + CLIENTS + " clients", elapsed));
+        assertThat(stats.count("GET /api/courses")).isEqualTo((long) CLIENTS * REQUESTS_PER_CLIENT / 2);
+        assertThat(stats.count("POST /api/enrollments/enroll")).isEqualTo((long) CLIENTS * REQUESTS_PER_CLIENT / 2);
+        assertThat(stats.failures()).as("non-2xx responses by endpoint and status").isEmpty();
+    }
+
+    private void call(LatencyStats stats, String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            throw new IllegalStateException(endpoint + " failed", ex);
+        }
+        stats.record(endpoint, status, System.nanoTime() - start);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private List<Long> seedCourses() {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(Course.builder().code("LD" + i).title("Load course " + i)
+                    .credits(3).capacity(STUDENTS).active(true).build());
+        }
+        return courseRepository.saveAll(courses).stream().map(Course::getId).toList();
+    }
+
+    private List<Long> seedStudents() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            users.add(User.builder().email("load" + i + "@uni.test").username("load" + i).password("pw").build());
+        }
+        return userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+}
@@ -0,0 +1,12 @@
+package com.university.cms.load;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=true", "cms.db.admission.enabled=true",
+                "cms.admission.enabled=false"})
+class VirtualThreadsLoadTests extends ThreadingLoadTestSupport {
+}
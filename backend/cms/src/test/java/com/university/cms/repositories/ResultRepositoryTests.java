@@ -0,0 +1,82 @@
+package com.university.cms.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.university.cms.dto.GradeRow;
+
+/** The native result upserts against H2 in MySQL mode, as the benchmarks run them. */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:results;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ResultRepositoryTests {
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void upsertReturnsTheIdOfTheRowItInsertedOrUpdated() {
+        long enrollment = enrollment("upsert");
+
+        long inserted = resultRepository.upsert(enrollment, "B", new BigDecimal("71.50"));
+        long updated = resultRepository.upsert(enrollment, "A", new BigDecimal("92.00"));
+        long unchanged = resultRepository.upsert(enrollment, "A", new BigDecimal("92.00"));
+
+        assertThat(updated).isEqualTo(inserted);
+        assertThat(unchanged).isEqualTo(inserted);
+        Map<String, Object> row = jdbc.queryForMap("select grade, marks from results where id = ?", inserted);
+        assertThat(row.get("grade")).isEqualTo("A");
+        assertThat((BigDecimal) row.get("marks")).isEqualByComparingTo("92.00");
+        assertThat(jdbc.queryForObject("select count(*) from results where enrollment_id = ?", Long.class, enrollment))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void upsertAllInsertsNewRowsAndOverwritesExistingOnes() {
+        long graded = enrollment("graded");
+        long fresh = enrollment("fresh");
+        resultRepository.upsert(graded, "C", null);
+
+        resultRepository.upsertAll(List.of(new GradeRow(graded, "B+", new BigDecimal("80.00")),
+                new GradeRow(fresh, "A-", null)));
+
+        assertThat(jdbc.queryForList("select grade from results where enrollment_id in (?, ?) order by enrollment_id",
+                String.class, graded, fresh)).containsExactly("B+", "A-");
+    }
+
+    private long enrollment(String name) {
+        long student = insert("insert into users (email, username, password, is_admin) values (?, ?, 'x', false)",
+                name + "@example.com", name);
+        long course = insert("insert into courses (code, title, credits, capacity, enrolled, active) values (?, ?, 3, 10, 1, true)",
+                name.toUpperCase(), name);
+        return insert("insert into enrollments (student_id, course_id, enrolled_at) values (?, ?, ?)",
+                student, course, LocalDateTime.now());
+    }
+
+    private long insert(String sql, Object... args) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            var ps = con.prepareStatement(sql, new String[] {"id"});
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+}
@@ -0,0 +1,27 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTests {
+
+    @Test
+    void everyAddedKeyIsFoundAndFewOthersAre() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put("student" + i + "@uni.test");
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(filter.mightContain("student" + i + "@uni.test")).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 50_000; i++) {
+            if (filter.mightContain("applicant" + i + "@uni.test")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(1_000); // 2% with some slack over the configured 1%
+    }
+}
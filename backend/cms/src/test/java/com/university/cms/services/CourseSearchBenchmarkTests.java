@@ -0,0 +1,99 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.university.cms.dto.CourseView;
+import com.university.cms.entities.Course;
+import com.university.cms.repositories.CourseRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the in-memory index with the JPQL LIKE query on a 20k course catalog: same courses, and
+ * a faster first page for every query.
+ * Excluded from the default build; run with {@code mvn test -Dgroups=benchmark -DexcludedGroups=none}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CourseSearchIndex.class)
+class CourseSearchBenchmarkTests {
+
+    private static final int COURSES = 20_000;
+    private static final int ROUNDS = 200;
+    private static final String[] SUBJECTS = {"Algorithms", "Databases", "Networks", "Compilers", "Statistics",
+            "Linear Algebra", "Operating Systems", "Machine Learning", "Ethics", "Thermodynamics"};
+    private static final String[] QUERIES = {"alg", "data", "cs12", "learn", "sys", "ethics 3"};
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void seed() {
+        List<Course> batch = new ArrayList<>(COURSES);
+        for (int i = 0; i < COURSES; i++) {
+            String subject = SUBJECTS[i % SUBJECTS.length];
+            batch.add(Course.builder()
+                    .code("CS" + i)
+                    .title(subject + " " + (i % 7 + 1))
+                    .description("An introduction to " + subject.toLowerCase() + ", section " + i)
+                    .credits(3)
+                    .capacity(100)
+                    .active(true)
+                    .build());
+        }
+        courseRepository.saveAll(batch);
+        index.rebuild();
+    }
+
+    @Test
+    void indexIsFasterThanLikeAndFindsTheSameCourses() {
+        Pageable all = PageRequest.of(0, COURSES);
+        for (String q : new String[] {"alg", "data", "cs12"}) {
+            Set<Long> viaLike = courseRepository.search(q, all).stream().map(Course::getId).collect(Collectors.toSet());
+            Set<Long> viaIndex = index.search(q, 0, COURSES).items().stream()
+                    .filter(c -> c.code().toLowerCase().contains(q) || c.title().toLowerCase().contains(q))
+                    .map(CourseView::id).collect(Collectors.toSet());
+            assertThat(viaIndex).isEqualTo(viaLike);
+        }
+
+        Pageable firstPage = PageRequest.of(0, 20);
+        for (String q : QUERIES) {
+            long likeNanos = time(() -> courseRepository.search(q, firstPage));
+            long indexNanos = time(() -> index.search(q, 0, 20));
+            log.info("course search '{}' over {} courses: LIKE {} us/query, index {} us/query",
+                    q, COURSES, likeNanos / 1000 / ROUNDS, indexNanos / 1000 / ROUNDS);
+            assertThat(indexNanos).as("index vs LIKE for '%s'", q).isLessThan(likeNanos);
+        }
+    }
+
+    private static long time(Runnable body) {
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            body.run(); // warm-up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            body.run();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,49 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.university.cms.dto.CourseView;
+
+class CourseSearchIndexTests {
+
+    private final CourseSearchIndex index = new CourseSearchIndex(null); // filled with put, never rebuilt
+
+    @BeforeEach
+    void fill() {
+        index.put(new CourseView(1L, "CS101", "Algorithms", "Sorting and searching", 3, 30, true));
+        index.put(new CourseView(2L, "MA201", "Linear Algebra", "Vectors and matrices", 4, 30, true));
+        index.put(new CourseView(3L, "CS310", "Databases", "Query plans for algebra nerds", 3, 30, true));
+    }
+
+    @Test
+    void termsShorterThanATrigramMatchAnywhereLikeLikeDoes() {
+        assertThat(ids("01")).containsExactly(1L, 2L); // inside the code, not at a word start
+        assertThat(ids("cs")).containsExactly(1L, 3L);
+        assertThat(ids("gebra")).containsExactly(2L, 3L);
+        assertThat(ids("01 gebra")).containsExactly(2L);
+    }
+
+    @Test
+    void codeHitsRankAboveTitleAndDescriptionHits() {
+        assertThat(ids("algebra")).containsExactly(2L, 3L); // title, then description
+        assertThat(ids("cs310")).containsExactly(3L);
+    }
+
+    @Test
+    void blankQueriesAndRemovedCoursesFindNothing() {
+        index.remove(1L);
+
+        assertThat(ids("  ")).isEmpty();
+        assertThat(ids("01")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private List<Long> ids(String q) {
+        return index.search(q, 0, 10).items().stream().map(CourseView::id).toList();
+    }
+}
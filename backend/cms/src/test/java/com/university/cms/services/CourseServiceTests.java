@@ -0,0 +1,78 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.cms.dto.CourseView;
+import com.university.cms.entities.Course;
+import com.university.cms.events.DomainEvents;
+import com.university.cms.events.OutboxRelay;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Course writes and the caches built from them; writes commit, so other threads see what a client would. */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CourseService.class, SeatLedger.class, CourseSearchIndex.class, CourseStatsStore.class, TranscriptService.class,
+        WaitlistService.class, WaitlistIndex.class, StudentEnrollmentCache.class, DomainEvents.class, OutboxRelay.class,
+        SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseServiceTests {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void aCatalogReadDuringACourseWriteIsNotCachedAsTheNewCatalog() {
+        courseService.catalog();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            courseService.createCourse(course("CAT101", "Catalog race"));
+            // another request, which cannot see the uncommitted course yet
+            CompletableFuture.runAsync(courseService::catalog).orTimeout(5, TimeUnit.SECONDS).join();
+        });
+
+        assertThat(new String(courseService.catalog().json(), StandardCharsets.UTF_8)).contains("CAT101");
+    }
+
+    @Test
+    void aCourseEditThatRollsBackLeavesTheSearchIndexAlone() {
+        courseService.createCourse(course("IDX101", "Kept"));
+        Course other = courseService.createCourse(course("IDX102", "Original title"));
+
+        // the duplicate code only fails when the change is flushed at commit
+        assertThatThrownBy(() -> courseService.updateCourse(other.getId(), course("IDX101", "Never committed")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(searchIndex.search("idx102", 0, 10).items()).extracting(CourseView::title)
+                .containsExactly("Original title");
+        assertThat(searchIndex.search("never committed", 0, 10).items()).isEmpty();
+    }
+
+    static Course course(String code, String title) {
+        return Course.builder().code(code).title(title).credits(3).capacity(10).active(true).build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.dto.CourseStats;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEvent.CourseChanged.Change;
+import com.university.cms.events.OutboxRelay;
+
+/**
+ * The counters as the events move them, and the same course rebuilt from the committed rows the
+ * events describe; both must agree.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CourseStatsStore.class, OutboxRelay.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the rebuild reads in a transaction of its own
+class CourseStatsStoreTests {
+
+    @Autowired
+    private CourseStatsStore store;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void countsMeanAndMedianFollowEnrollGradeRegradeAndDropAndSurviveARebuild() {
+        long course = insert("insert into courses (code, title, credits, capacity, enrolled, active) values (?, ?, 3, 10, 0, true)",
+                "ST101", "Stats");
+        store.accept(List.of(new DomainEvent.CourseChanged(course, Change.CREATED, 10)));
+        long[] students = new long[4];
+        long[] enrollments = new long[4];
+        for (int i = 0; i < 4; i++) {
+            students[i] = insert("insert into users (email, username, password, is_admin) values (?, ?, 'x', false)",
+                    "stats" + i + "@example.com", "stats" + i);
+            enrollments[i] = insert("insert into enrollments (student_id, course_id, enrolled_at) values (?, ?, ?)",
+                    students[i], course, LocalDateTime.now());
+            store.accept(List.of(new DomainEvent.EnrollmentCreated(enrollments[i], students[i], course)));
+        }
+        assertThat(stats(course)).isEqualTo(new CourseStats(course, 10, 4, 6, 0, Map.of(), 0, null, null));
+
+        grade(course, students[0], enrollments[0], null, null, "B", "70.00");
+        grade(course, students[1], enrollments[1], null, null, "A", "90.00");
+        grade(course, students[2], enrollments[2], null, null, "A", "85.50");
+        grade(course, students[3], enrollments[3], null, null, "C", null);
+        assertThat(stats(course)).isEqualTo(
+                new CourseStats(course, 10, 4, 6, 4, Map.of("A", 2, "B", 1, "C", 1), 3, 81.83, 85.5));
+
+        grade(course, students[0], enrollments[0], "B", "70.00", "A", "95.00");
+        assertThat(stats(course)).isEqualTo(
+                new CourseStats(course, 10, 4, 6, 4, Map.of("A", 3, "C", 1), 3, 90.17, 90.0));
+
+        jdbc.update("delete from results where enrollment_id = ?", enrollments[1]);
+        jdbc.update("delete from enrollments where id = ?", enrollments[1]);
+        store.accept(List.of(new DomainEvent.EnrollmentDropped(enrollments[1], students[1], course, "A",
+                new BigDecimal("90.00"))));
+        CourseStats fromEvents = stats(course);
+        assertThat(fromEvents).isEqualTo(
+                new CourseStats(course, 10, 3, 7, 3, Map.of("A", 2, "C", 1), 2, 90.25, 90.25));
+
+        relay.rebuild(store);
+
+        assertThat(stats(course)).isEqualTo(fromEvents);
+    }
+
+    private CourseStats stats(long course) {
+        return store.get(course).orElseThrow();
+    }
+
+    /** Writes the result row and applies its event, as the grading transaction and the relay would. */
+    private void grade(long course, long student, long enrollment, String oldGrade, String oldMarks,
+                       String grade, String marks) {
+        BigDecimal newMarks = marks == null ? null : new BigDecimal(marks);
+        if (oldGrade == null) {
+            jdbc.update("insert into results (enrollment_id, grade, marks) values (?, ?, ?)", enrollment, grade, newMarks);
+        } else {
+            jdbc.update("update results set grade = ?, marks = ? where enrollment_id = ?", grade, newMarks, enrollment);
+        }
+        store.accept(List.of(new DomainEvent.ResultUpdated(enrollment, student, course, oldGrade,
+                oldMarks == null ? null : new BigDecimal(oldMarks), grade, newMarks)));
+    }
+
+    private long insert(String sql, Object... args) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            var ps = con.prepareStatement(sql, new String[] {"id"});
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+}
@@ -0,0 +1,278 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.university.cms.config.QueryStats;
+import com.university.cms.dto.CatalogEntry;
+import com.university.cms.dto.CourseView;
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.dto.EnrollmentOutcome;
+import com.university.cms.dto.StudentDashboard;
+import com.university.cms.entities.Course;
+import com.university.cms.entities.Enrollment;
+import com.university.cms.entities.Result;
+import com.university.cms.entities.User;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEvents;
+import com.university.cms.events.OutboxRelay;
+import com.university.cms.repositories.EnrollmentRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EnrollmentService.class, SeatLedger.class, TranscriptService.class, WaitlistService.class, WaitlistIndex.class,
+        StudentEnrollmentCache.class, CourseSearchIndex.class, DomainEvents.class, OutboxRelay.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EnrollmentServiceQueryCountTests {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistIndex waitlistIndex;
+
+    @Autowired
+    private CourseSearchIndex courseIndex;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 200})
+    void rosterIsLoadedWithOneStatementRegardlessOfSize(int rosterSize) {
+        Course course = persistCourse("CS" + rosterSize, rosterSize);
+        for (int i = 0; i < rosterSize; i++) {
+            User student = persistUser("s" + rosterSize + "_" + i);
+            Enrollment enrollment = persistEnrollment(student, course);
+            if (i % 2 == 0) {
+                em.persist(Result.builder().enrollment(enrollment).grade("A").marks(new BigDecimal("91.50")).build());
+            }
+        }
+        em.flush();
+        em.clear();
+
+        try (QueryStats stats = QueryStats.open(5, true)) {
+            List<EnrollmentDto> roster = enrollmentService.getEnrollmentsByCourse(course.getId());
+
+            assertThat(roster).hasSize(rosterSize);
+            assertThat(roster.get(0).grade()).isEqualTo("A");
+            assertThat(roster.get(0).marks()).isEqualTo(91.5);
+            assertThat(stats.statements()).isEqualTo(1);
+            assertThat(stats.entitiesLoaded()).isZero();
+        }
+    }
+
+    @Test
+    void studentEnrollmentsAreLoadedWithOneStatement() {
+        User student = persistUser("multi");
+        for (int i = 0; i < 25; i++) {
+            persistEnrollment(student, persistCourse("M" + i, 10));
+        }
+        em.flush();
+        em.clear();
+
+        try (QueryStats stats = QueryStats.open(5, true)) {
+            List<EnrollmentDto> enrollments = enrollmentService.getEnrollmentsByStudent(student.getId());
+
+            assertThat(enrollments).hasSize(25).allMatch(dto -> dto.studentUsername().equals("multi"));
+            assertThat(enrollments.get(0).grade()).isNull();
+            assertThat(stats.statements()).isEqualTo(1);
+            assertThat(stats.entitiesLoaded()).isZero();
+
+            assertThat(enrollmentService.getEnrollmentsByStudent(student.getId())).isEqualTo(enrollments);
+            assertThat(stats.statements()).as("served from the cache").isEqualTo(1);
+        }
+    }
+
+    @Test
+    void dashboardIsTwoProjectionQueriesOnACacheMissAndOneOnAHit() {
+        User student = persistUser("dash");
+        User other = persistUser("dash-other");
+        Course open = em.persist(Course.builder().code("D1").title("Open").credits(3).capacity(3).enrolled(1)
+                .active(true).build());
+        Course full = em.persist(Course.builder().code("D2").title("Full").credits(3).capacity(1).enrolled(1)
+                .active(true).build());
+        Course over = em.persist(Course.builder().code("D3").title("Over").credits(3).capacity(2).enrolled(3)
+                .active(true).build());
+        Course retired = em.persist(Course.builder().code("D4").title("Retired").credits(3).capacity(5)
+                .active(false).build());
+        Enrollment mine = persistEnrollment(student, open);
+        persistEnrollment(other, full);
+        em.persist(Result.builder().enrollment(mine).grade("B+").marks(new BigDecimal("88.00")).build());
+        em.flush();
+        em.clear();
+        waitlistIndex.accept(List.of(
+                new DomainEvent.WaitlistJoined(901L, other.getId(), full.getId(), LocalDateTime.now()),
+                new DomainEvent.WaitlistJoined(902L, student.getId(), full.getId(), LocalDateTime.now())));
+
+        try (QueryStats stats = QueryStats.open(5, true)) {
+            StudentDashboard dashboard = enrollmentService.getDashboard(student.getId());
+
+            assertThat(stats.statements()).isEqualTo(2);
+            assertThat(stats.entitiesLoaded()).isZero();
+            assertThat(dashboard.enrollments()).singleElement().satisfies(e -> {
+                assertThat(e.courseCode()).isEqualTo("D1");
+                assertThat(e.grade()).isEqualTo("B+");
+                assertThat(e.marks()).isEqualTo(88.0);
+            });
+            List<Long> ours = List.of(open.getId(), full.getId(), over.getId(), retired.getId());
+            assertThat(dashboard.catalog()).filteredOn(c -> ours.contains(c.id()))
+                    .extracting(CatalogEntry::code, CatalogEntry::seatsLeft, CatalogEntry::enrolled)
+                    .containsExactly(tuple("D1", 2, true), tuple("D2", 0, false), tuple("D3", 0, false));
+            assertThat(dashboard.waitlists()).singleElement().satisfies(w -> {
+                assertThat(w.courseId()).isEqualTo(full.getId());
+                assertThat(w.position()).isEqualTo(2);
+            });
+
+            assertThat(enrollmentService.getDashboard(student.getId())).isEqualTo(dashboard);
+            assertThat(stats.statements()).as("enrollments served from the cache").isEqualTo(3);
+        }
+    }
+
+    @Test
+    void projectionStaysUnderTheNPlusOneThreshold() {
+        Course course = persistCourse("NP", 30);
+        for (int i = 0; i < 30; i++) {
+            persistEnrollment(persistUser("np" + i), course);
+        }
+        em.flush();
+        em.clear();
+
+        try (QueryStats stats = QueryStats.open(5, true)) {
+            assertThat(enrollmentService.getEnrollmentsByCourse(course.getId())).hasSize(30);
+            assertThat(stats.statements()).isEqualTo(1);
+            assertThat(stats.nPlusOneDetected()).isFalse();
+        }
+    }
+
+    @Test
+    void lazyLoadingInAMappingLoopIsReportedAsNPlusOne() {
+        Course course = persistCourse("LZ", 30);
+        for (int i = 0; i < 30; i++) {
+            persistEnrollment(persistUser("lz" + i), course);
+        }
+        em.flush();
+        em.clear();
+
+        try (QueryStats stats = QueryStats.open(5, true)) {
+            List<Enrollment> enrollments = enrollmentRepository.findByCourseId(course.getId());
+            assertThat(stats.statements()).as("results are fetched with the enrollments").isEqualTo(1);
+            assertThatThrownBy(() -> enrollments.forEach(e -> e.getStudent().getUsername()))
+                    .satisfies(ex -> assertThat(NestedExceptionUtils.getMostSpecificCause(ex))
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("N+1"));
+            assertThat(stats.entitiesLoaded()).isGreaterThan(30);
+        }
+    }
+
+    @Test
+    void enrollingIsTheSeatUpdateAndTheInsertWhenTheCourseIsIndexed() {
+        User student = persistUser("enr");
+        Course indexed = persistCourse("IX", 5);
+        Course unindexed = persistCourse("UX", 5);
+        em.flush();
+        em.clear();
+        courseIndex.put(CourseView.of(indexed));
+
+        try (QueryStats stats = QueryStats.open(5, true)) {
+            EnrollmentDto enrollment = enrollmentService.enrollStudent(student.getId(), indexed.getId());
+
+            assertThat(stats.statements()).as("seat UPDATE and INSERT; the outbox row is JdbcTemplate, not counted").isEqualTo(2);
+            assertThat(enrollment.id()).isNotNull();
+            assertThat(enrollment).extracting(EnrollmentDto::studentId, EnrollmentDto::courseCode,
+                    EnrollmentDto::courseTitle, EnrollmentDto::grade).containsExactly(student.getId(), "IX", "Course IX", null);
+
+            assertThat(enrollmentService.enrollStudent(student.getId(), unindexed.getId()).courseCode()).isEqualTo("UX");
+            assertThat(stats.statements()).as("one lookup for a course the index has not seen").isEqualTo(5);
+        }
+    }
+
+    @Test
+    void aMissingStudentIsReportedByItsForeignKey() {
+        Course course = persistCourse("FK", 5);
+        em.flush();
+
+        assertThatThrownBy(() -> enrollmentService.enrollStudent(-1L, course.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Student not found");
+    }
+
+    @Test
+    void droppingAnEnrollmentHandsTheSeatToTheFirstWaitlistedStudent() {
+        Course course = persistCourse("WL", 1);
+        User first = persistUser("wl1");
+        User second = persistUser("wl2");
+        User third = persistUser("wl3");
+        em.flush();
+
+        EnrollmentOutcome seated = enrollmentService.enrollOrWaitlist(first.getId(), course.getId());
+        em.clear();
+        EnrollmentOutcome queued = enrollmentService.enrollOrWaitlist(second.getId(), course.getId());
+        em.clear();
+        EnrollmentOutcome behind = enrollmentService.enrollOrWaitlist(third.getId(), course.getId());
+        em.clear();
+
+        assertThat(seated.enrollment()).isNotNull();
+        assertThat(queued.waitlisted().position()).isEqualTo(1);
+        assertThat(behind.waitlisted().position()).isEqualTo(2);
+
+        enrollmentService.dropEnrollment(seated.enrollment().id());
+        em.flush();
+        em.clear();
+
+        assertThat(enrollmentService.getEnrollmentsByCourse(course.getId()))
+                .extracting(EnrollmentDto::studentId).containsExactly(second.getId());
+        assertThat(em.find(Course.class, course.getId()).getEnrolled()).isEqualTo(1);
+        assertThat(waitlistService.join(third.getId(), course.getId())).get()
+                .extracting(p -> p.position()).isEqualTo(1);
+    }
+
+    private User persistUser(String username) {
+        return em.persist(User.builder()
+                .email(username + "@uni.test")
+                .username(username)
+                .password("pw")
+                .build());
+    }
+
+    private Course persistCourse(String code, int capacity) {
+        return em.persist(Course.builder()
+                .code(code)
+                .title("Course " + code)
+                .credits(3)
+                .capacity(capacity)
+                .active(true)
+                .build());
+    }
+
+    private Enrollment persistEnrollment(User student, Course course) {
+        return em.persist(Enrollment.builder()
+                .student(student)
+                .course(course)
+                .enrolledAt(LocalDateTime.now())
+                .build());
+    }
+}
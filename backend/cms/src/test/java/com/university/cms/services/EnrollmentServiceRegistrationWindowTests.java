@@ -0,0 +1,161 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.events.DomainEvents;
+import com.university.cms.events.OutboxRelay;
+
+/**
+ * The same requests through the single-request path and through the registration-window queue
+ * give the same enrollments and the same errors. Fixtures are committed: the queue's writer
+ * threads decide in their own transactions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EnrollmentService.class, SeatLedger.class, TranscriptService.class, WaitlistService.class, WaitlistIndex.class,
+        StudentEnrollmentCache.class, CourseSearchIndex.class, DomainEvents.class, OutboxRelay.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EnrollmentServiceRegistrationWindowTests {
+
+    private static final long MISSING = 999_999L;
+
+    @Nested
+    @TestPropertySource(properties = "cms.enrollment.registration-window.enabled=false")
+    class SingleRequest extends Scenarios {
+    }
+
+    @Nested
+    @TestPropertySource(properties = {"cms.enrollment.registration-window.enabled=true",
+            "cms.enrollment.registration-window.linger=20ms"}) // long enough for the concurrent requests to share a batch
+    class RegistrationWindow extends Scenarios {
+    }
+
+    abstract static class Scenarios {
+
+        @Autowired
+        private EnrollmentService enrollmentService;
+
+        @Autowired
+        private JdbcTemplate jdbc;
+
+        @Test
+        void eachRequestGetsTheSameAnswerOnBothPaths() {
+            long first = student("first");
+            long second = student("second");
+            long third = student("third");
+            long course = course("SEQ", 2);
+            long other = course("OTH", 5);
+
+            assertThat(List.of(
+                    outcome(first, course),
+                    outcome(first, course),
+                    outcome(second, course),
+                    outcome(third, course),
+                    outcome(third, MISSING),
+                    outcome(MISSING, other))).containsExactly(
+                    "enrolled " + first + " in SEQ",
+                    "IllegalArgumentException: Already enrolled in this course",
+                    "enrolled " + second + " in SEQ",
+                    "IllegalStateException: Course is full",
+                    "IllegalArgumentException: Course not found",
+                    "IllegalArgumentException: Student not found");
+            assertThat(enrolled(course)).isEqualTo(2);
+            assertThat(enrolled(other)).isZero(); // the rejected request did not keep a seat
+            assertThat(jdbc.queryForObject("select count(*) from enrollments where course_id in (?, ?)",
+                    Long.class, course, other)).isEqualTo(2);
+        }
+
+        @Test
+        void concurrentRequestsForTheLastSeatsAreAdmittedUpToCapacity() throws Exception {
+            long course = course("RUSH", 3);
+            List<Long> students = IntStream.range(0, 6).mapToObj(i -> student("rush" + i)).toList();
+
+            CountDownLatch go = new CountDownLatch(1);
+            List<CompletableFuture<String>> requests = students.stream()
+                    .map(student -> CompletableFuture.supplyAsync(() -> {
+                        await(go);
+                        return outcome(student, course);
+                    }))
+                    .toList();
+            go.countDown();
+            Map<String, Long> outcomes = requests.stream()
+                    .map(CompletableFuture::join)
+                    .map(o -> o.startsWith("enrolled ") ? "enrolled" : o)
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+            assertThat(outcomes).containsExactlyInAnyOrderEntriesOf(
+                    Map.of("enrolled", 3L, "IllegalStateException: Course is full", 3L));
+            assertThat(enrolled(course)).isEqualTo(3);
+            assertThat(jdbc.queryForObject("select count(*) from enrollments where course_id = ?", Long.class, course))
+                    .isEqualTo(3);
+        }
+
+        private String outcome(long studentId, long courseId) {
+            try {
+                EnrollmentDto enrollment = enrollmentService.enrollStudent(studentId, courseId);
+                return "enrolled " + enrollment.studentId() + " in " + enrollment.courseCode();
+            } catch (RuntimeException ex) {
+                return ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            }
+        }
+
+        private int enrolled(long courseId) {
+            return jdbc.queryForObject("select enrolled from courses where id = ?", Integer.class, courseId);
+        }
+
+        private long student(String name) {
+            return insert("insert into users (email, username, password, is_admin) values (?, ?, 'x', false)",
+                    name + "@" + getClass().getSimpleName() + ".test", name);
+        }
+
+        private long course(String code, int capacity) {
+            return insert("insert into courses (code, title, credits, capacity, enrolled, active) values (?, ?, 3, ?, 0, true)",
+                    code, code, capacity);
+        }
+
+        private long insert(String sql, Object... args) {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbc.update(con -> {
+                var ps = con.prepareStatement(sql, new String[] {"id"});
+                for (int i = 0; i < args.length; i++) {
+                    ps.setObject(i + 1, args[i]);
+                }
+                return ps;
+            }, keys);
+            return keys.getKey().longValue();
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
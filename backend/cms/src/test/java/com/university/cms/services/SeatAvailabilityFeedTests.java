@@ -0,0 +1,254 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cms.controllers.CourseController;
+import com.university.cms.events.DomainEvent;
+import com.university.cms.events.DomainEvent.CourseChanged.Change;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * The feed behind {@code GET /api/courses/availability/stream}, with a 20 ms coalescing window,
+ * two sender threads and room for two pending events per subscriber. Requests sent with
+ * {@code X-Slow} get a response stream that stops taking writes once {@link #stall} is set.
+ */
+class SeatAvailabilityFeedTests {
+
+    private static final String STREAM = "/api/courses/availability/stream";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean stall;
+    private SeatAvailabilityFeed feed;
+    private MockMvc mvc;
+
+    private record Event(String name, JsonNode data) {}
+
+    @BeforeEach
+    void startFeed() {
+        feed = new SeatAvailabilityFeed(null, objectMapper, registry, Duration.ofMillis(20), Duration.ofMinutes(1),
+                100, 2, 2);
+        feed.start();
+        Filter slowClients = (request, response, chain) -> chain.doFilter(request,
+                ((HttpServletRequest) request).getHeader("X-Slow") != null
+                        ? new StallingResponse((HttpServletResponse) response) : response);
+        mvc = MockMvcBuilders.standaloneSetup(new CourseController(null, feed, objectMapper))
+                .addFilters(slowClients).build();
+    }
+
+    @AfterEach
+    void stopFeed() {
+        release.countDown();
+        feed.stop();
+    }
+
+    @Test
+    void changesWithinOneWindowGoOutAsOneEventWithTheLatestCounts() throws Exception {
+        MvcResult stream = subscribe(false);
+        awaitEvents(stream, 1);
+
+        feed.accept(List.of(
+                new DomainEvent.CourseChanged(1L, Change.CREATED, 10),
+                new DomainEvent.EnrollmentCreated(11L, 100L, 1L),
+                new DomainEvent.EnrollmentCreated(12L, 101L, 1L),
+                new DomainEvent.EnrollmentCreated(13L, 102L, 1L),
+                new DomainEvent.CourseChanged(2L, Change.CREATED, 5),
+                new DomainEvent.EnrollmentCreated(14L, 100L, 2L),
+                new DomainEvent.EnrollmentDropped(14L, 100L, 2L, null, null)));
+        List<Event> events = awaitEvents(stream, 2);
+        Thread.sleep(100); // a few more windows with nothing to send
+
+        assertThat(events(stream)).hasSize(2);
+        assertThat(events.get(0).name()).isEqualTo("snapshot");
+        assertThat(events.get(0).data().get("seats")).isEmpty();
+        assertThat(events.get(1).name()).isEqualTo("seats");
+        assertThat(events.get(1).data().toString()).isEqualTo("{\"seats\":[[1,10,3],[2,5,0]],\"removed\":[]}");
+    }
+
+    @Test
+    void aSubscriberJoiningWhileSeatsChangeEndsUpWithTheFinalCounts() throws Exception {
+        feed.accept(List.of(new DomainEvent.CourseChanged(1L, Change.CREATED, 1000)));
+        int enrollments = 2000;
+        CountDownLatch halfway = new CountDownLatch(1);
+        CompletableFuture<Void> writes = CompletableFuture.runAsync(() -> {
+            for (long i = 0; i < enrollments; i++) {
+                feed.accept(List.of(new DomainEvent.EnrollmentCreated(i, i, 1L)));
+                if (i == enrollments / 2) {
+                    halfway.countDown();
+                }
+            }
+        });
+        assertThat(halfway.await(5, TimeUnit.SECONDS)).isTrue();
+        MvcResult stream = subscribe(false);
+        writes.get(5, TimeUnit.SECONDS);
+
+        List<Event> events = awaitEvents(stream, e -> enrolledSeen(e).getOrDefault(1L, -1L) == enrollments);
+        assertThat(events.get(0).name()).isEqualTo("snapshot");
+        assertThat(events.subList(1, events.size())).extracting(Event::name).doesNotContain("snapshot");
+    }
+
+    @Test
+    void aSubscriberThatFallsBehindIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        MvcResult fast = subscribe(false);
+        MvcResult slow = subscribe(true);
+        awaitEvents(fast, 1);
+        awaitEvents(slow, 1);
+
+        stall = true;
+        for (int capacity = 1; capacity <= 4; capacity++) { // one in the stalled write, two queued, one too many
+            feed.accept(List.of(new DomainEvent.CourseChanged(1L, Change.UPDATED, capacity)));
+            awaitEvents(fast, 1 + capacity);
+        }
+
+        assertThat(events(fast)).extracting(e -> e.data().path("seats").path(0).path(1).asInt())
+                .containsExactly(0, 1, 2, 3, 4);
+        assertThat(registry.get("cms.availability.dropped").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cms.availability.subscribers").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        slow.getAsyncResult(5000); // the stalled write returns and the dropped stream is completed
+        assertThat(events(slow)).hasSizeLessThan(5);
+    }
+
+    private MvcResult subscribe(boolean slow) throws Exception {
+        var request = get(STREAM);
+        if (slow) {
+            request.header("X-Slow", "true");
+        }
+        return mvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private List<Event> awaitEvents(MvcResult stream, int count) throws Exception {
+        return awaitEvents(stream, events -> events.size() >= count);
+    }
+
+    private List<Event> awaitEvents(MvcResult stream, Predicate<List<Event>> done) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<Event> events = events(stream);
+        while (!done.test(events)) {
+            assertThat(System.nanoTime()).as("events so far: %s", events).isLessThan(deadline);
+            Thread.sleep(5);
+            events = events(stream);
+        }
+        return events;
+    }
+
+    /** The complete {@code event:}/{@code data:} frames written so far; heartbeats are skipped. */
+    private List<Event> events(MvcResult stream) throws IOException {
+        List<Event> events = new ArrayList<>();
+        String body = stream.getResponse().getContentAsString();
+        for (String frame : body.substring(0, body.lastIndexOf("\n\n") + 1).split("\n\n")) {
+            String name = null;
+            String data = null;
+            for (String line : frame.split("\n")) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    data = line.substring("data:".length());
+                }
+            }
+            if (data != null) {
+                events.add(new Event(name, objectMapper.readTree(data)));
+            }
+        }
+        return events;
+    }
+
+    /** Enrolled count per course as a client applying the snapshot and then each update would have it. */
+    private static Map<Long, Long> enrolledSeen(List<Event> events) {
+        Map<Long, Long> enrolled = new HashMap<>();
+        for (Event event : events) {
+            for (JsonNode seats : event.data().path("seats")) {
+                enrolled.put(seats.get(0).asLong(), seats.get(2).asLong());
+            }
+        }
+        return enrolled;
+    }
+
+    /** A client that stops reading: writes block while {@link #stall} is set, until {@link #release}. */
+    private final class StallingResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream out;
+
+        StallingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public synchronized ServletOutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                ServletOutputStream target = super.getOutputStream();
+                out = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        await();
+                        target.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        await();
+                        target.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        target.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        target.setWriteListener(listener);
+                    }
+                };
+            }
+            return out;
+        }
+
+        private void await() throws IOException {
+            try {
+                if (stall && !release.await(10, TimeUnit.SECONDS)) {
+                    throw new IOException("stalled client never released");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.entities.User;
+import com.university.cms.repositories.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-request cost of resolving the caller: a findById per request (what any check on top of
+ * the old login would need) against a cached token, plus a full miss (HMAC + one lookup).
+ * Excluded from the default build; run with {@code mvn test -Dgroups=benchmark -DexcludedGroups=none}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every findById gets its own session, like a request
+class SessionTokenBenchmarkTests {
+
+    private static final int ROUNDS = 20_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void cachedTokenIsCheaperThanAUserLookup() {
+        User user = userRepository.save(User.builder().email("bench@uni.test").username("bench").password("pw").build());
+        SessionTokenService tokens = new SessionTokenService(userRepository, new SimpleMeterRegistry(),
+                "benchmark-secret", Duration.ofHours(1), 10_000, Duration.ofMinutes(5));
+        String token = tokens.issue(user);
+
+        long lookup = perCall(() -> userRepository.findById(user.getId()).orElseThrow().isAdmin());
+        long cached = perCall(() -> tokens.verify(token).orElseThrow().admin());
+        long uncached = perCall(() -> {
+            tokens.invalidateUser(user.getId());
+            return tokens.verify(token).orElseThrow().admin();
+        });
+
+        log.info("per-request auth: findById {} ns, cached token {} ns, uncached token {} ns", lookup, cached, uncached);
+        assertThat(tokens.verify(token + "x")).isEmpty();
+        assertThat(cached).isLessThan(lookup).isLessThan(uncached);
+    }
+
+    private static long perCall(BooleanSupplier call) {
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            call.getAsBoolean(); // warm-up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            call.getAsBoolean();
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+}
@@ -0,0 +1,107 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.dto.SessionPrincipal;
+import com.university.cms.entities.User;
+import com.university.cms.repositories.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the role change commits while a load is reading
+class SessionTokenServiceTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void aLoadReadingWhenTheRoleChangesIsNotKept() throws Exception {
+        User user = userRepository.save(User.builder().email("role@uni.test").username("role").password("pw").build());
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SessionTokenService tokens = new SessionTokenService(pausingFindById(reading, release), new SimpleMeterRegistry(),
+                "test-secret", Duration.ofHours(1), 1000, Duration.ofMinutes(5));
+        String token = tokens.issue(user);
+        tokens.invalidateUser(user.getId()); // drop the issued entry so the next verify loads
+
+        CompletableFuture<Optional<SessionPrincipal>> inFlight = CompletableFuture.supplyAsync(() -> tokens.verify(token));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        user.setAdmin(true);
+        userRepository.save(user);
+        tokens.invalidateUser(user.getId());
+        release.countDown();
+
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(tokens.verify(token)).hasValueSatisfying(p -> assertThat(p.admin()).isTrue());
+    }
+
+    @Test
+    void invalidatingAUserReloadsOnlyTheirTokens() {
+        User changed = userRepository.save(User.builder().email("changed@uni.test").username("changed").password("pw").build());
+        User other = userRepository.save(User.builder().email("other@uni.test").username("other").password("pw").build());
+        AtomicInteger reads = new AtomicInteger();
+        SessionTokenService tokens = new SessionTokenService(countingFindById(reads), new SimpleMeterRegistry(),
+                "test-secret", Duration.ofHours(1), 1000, Duration.ofMinutes(5));
+        String changedToken = tokens.issue(changed);
+        String otherToken = tokens.issue(other);
+
+        changed.setAdmin(true);
+        userRepository.save(changed);
+        tokens.invalidateUser(changed.getId());
+
+        assertThat(tokens.verify(otherToken)).hasValueSatisfying(p -> assertThat(p.admin()).isFalse());
+        assertThat(reads).hasValue(0);
+        assertThat(tokens.verify(changedToken)).hasValueSatisfying(p -> assertThat(p.admin()).isTrue());
+        assertThat(tokens.verify(changedToken)).isPresent();
+        assertThat(reads).hasValue(1);
+    }
+
+    private UserRepository countingFindById(AtomicInteger reads) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        reads.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(userRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    /** The repository, with the first {@code findById} reading the row and then waiting for {@code release}. */
+    private UserRepository pausingFindById(CountDownLatch reading, CountDownLatch release) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+                    try {
+                        Object result = method.invoke(userRepository, args);
+                        if (method.getName().equals("findById") && reading.getCount() > 0) {
+                            reading.countDown();
+                            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+                        }
+                        return result;
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,89 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.university.cms.dto.EnrollmentDto;
+import com.university.cms.events.DomainEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StudentEnrollmentCacheTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StudentEnrollmentCache cache = new StudentEnrollmentCache(
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+            true, 1000, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<EnrollmentDto>> first = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loading.countDown();
+            await(release);
+            return rows(1L, loads.incrementAndGet());
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<List<EnrollmentDto>> second = CompletableFuture.supplyAsync(
+                () -> cache.get(1L, () -> rows(1L, loads.incrementAndGet())));
+
+        release.countDown();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "enrollments.by-student").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void writesForTheStudentEvictOnlyThatStudent() {
+        cache.get(1L, () -> rows(1L, loads.incrementAndGet()));
+        cache.get(2L, () -> rows(2L, loads.incrementAndGet()));
+
+        cache.evictAfterCommit(1L); // no transaction: right away
+        cache.accept(List.of(new DomainEvent.ResultUpdated(9L, 2L, 3L, null, null, "A", null)));
+        cache.get(1L, () -> rows(1L, loads.incrementAndGet()));
+        cache.get(2L, () -> rows(2L, loads.incrementAndGet()));
+        cache.get(2L, () -> rows(2L, loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void aLoadOverlappingAnEvictionIsNotKept() {
+        List<EnrollmentDto> stale = cache.get(1L, () -> {
+            cache.evictAfterCommit(1L); // a write commits while the load is reading
+            return rows(1L, loads.incrementAndGet());
+        });
+        List<EnrollmentDto> fresh = cache.get(1L, () -> rows(1L, loads.incrementAndGet()));
+
+        assertThat(stale).isNotEqualTo(fresh);
+        assertThat(loads).hasValue(2);
+    }
+
+    private static List<EnrollmentDto> rows(Long studentId, int version) {
+        return List.of(new EnrollmentDto((long) version, studentId, "s" + studentId, 1L, "CS101", "Intro",
+                LocalDateTime.of(2025, 9, 1, 10, 0), null, null));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
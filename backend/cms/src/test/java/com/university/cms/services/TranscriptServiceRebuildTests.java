@@ -0,0 +1,128 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.cms.dto.GradeRow;
+import com.university.cms.dto.GradeState;
+import com.university.cms.dto.StandingDelta;
+import com.university.cms.entities.StudentStanding;
+import com.university.cms.repositories.ResultRepository;
+import com.university.cms.repositories.StudentStandingRepository;
+
+/**
+ * Standings against a database: the native upserts (H2 in MySQL mode, as the benchmarks use) and a
+ * rebuild racing a grade change. Fixtures are committed so that two transactions can meet.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:standings;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TranscriptService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TranscriptServiceRebuildTests {
+
+    @Autowired
+    private TranscriptService transcriptService;
+
+    @Autowired
+    private StudentStandingRepository standingRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void deltasAddUpAndTheGpaFollows() {
+        long student = insert("insert into users (email, username, password, is_admin) values (?, ?, 'x', false)",
+                "add@example.com", "add");
+
+        transactionTemplate.executeWithoutResult(status -> standingRepository.addAll(
+                List.of(new StandingDelta(student, 3, 3 * 400, 3, 3 * 9000))));
+        transactionTemplate.executeWithoutResult(status -> standingRepository.addAll(
+                List.of(new StandingDelta(student, 4, 4 * 200, 0, 0))));
+
+        StudentStanding standing = standingRepository.findById(student).orElseThrow();
+        assertThat(standing.getGradedCredits()).isEqualTo(7);
+        assertThat(standing.getQualityPoints()).isEqualTo(2000);
+        assertThat(standing.getMarkedCredits()).isEqualTo(3);
+        assertThat(standing.getGpa()).isEqualByComparingTo("2.857");
+    }
+
+    @Test
+    void aGradeChangeInFlightWhenTheRebuildStartsIsCountedOnce() throws Exception {
+        long student = insert("insert into users (email, username, password, is_admin) values (?, ?, 'x', false)",
+                "race@example.com", "race");
+        long course = insert("insert into courses (code, title, credits, capacity, enrolled, active) values (?, ?, 3, 10, 1, true)",
+                "RC101", "Race");
+        long enrollment = insert("insert into enrollments (student_id, course_id, enrolled_at) values (?, ?, ?)",
+                student, course, LocalDateTime.now());
+        jdbc.update("insert into results (enrollment_id, grade) values (?, 'B')", enrollment);
+        transcriptService.rebuild();
+
+        CountDownLatch applied = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> regrade = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            GradeState before = resultRepository.lockGradeStates(List.of(enrollment)).get(0);
+            resultRepository.upsertAll(List.of(new GradeRow(enrollment, "A", null)));
+            transcriptService.apply(List.of(TranscriptService.delta(before, "A", null)));
+            applied.countDown();
+            await(commit);
+        }));
+        assertThat(applied.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(transcriptService::rebuild);
+        Thread.sleep(200);
+        assertThat(rebuild).as("waits for the uncommitted delta").isNotDone();
+        commit.countDown();
+        regrade.get(5, TimeUnit.SECONDS);
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        StudentStanding standing = standingRepository.findById(student).orElseThrow();
+        assertThat(standing.getGradedCredits()).isEqualTo(3);
+        assertThat(standing.getQualityPoints()).isEqualTo(3 * 400);
+        assertThat(standing.getGpa()).isEqualByComparingTo(BigDecimal.valueOf(4));
+    }
+
+    private long insert(String sql, Object... args) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            var ps = con.prepareStatement(sql, new String[] {"id"});
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
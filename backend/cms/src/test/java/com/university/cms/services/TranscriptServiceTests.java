@@ -0,0 +1,40 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.university.cms.dto.GradeState;
+import com.university.cms.dto.StandingDelta;
+
+class TranscriptServiceTests {
+
+    @Test
+    void firstGradeAddsCreditWeightedPointsAndMarks() {
+        GradeState ungraded = new GradeState(1L, 7L, 3L, 4, null, null);
+
+        StandingDelta delta = TranscriptService.delta(ungraded, "B+", new BigDecimal("78.50"));
+
+        assertThat(delta).isEqualTo(new StandingDelta(7L, 4, 4 * 330, 4, 4 * 7850));
+    }
+
+    @Test
+    void regradeAddsOnlyTheDifference() {
+        GradeState graded = new GradeState(1L, 7L, 3L, 3, "C", new BigDecimal("60.00"));
+
+        StandingDelta delta = TranscriptService.delta(graded, "a-", new BigDecimal("88.25"));
+
+        assertThat(delta).isEqualTo(new StandingDelta(7L, 0, 3 * (370 - 200), 0, 3 * (8825 - 6000)));
+    }
+
+    @Test
+    void gradesOffTheScaleCarryCreditsForMarksOnly() {
+        GradeState ungraded = new GradeState(1L, 7L, 3L, 2, null, null);
+
+        StandingDelta delta = TranscriptService.delta(ungraded, "P", new BigDecimal("55.00"));
+
+        assertThat(delta).isEqualTo(new StandingDelta(7L, 0, 0, 2, 2 * 5500));
+    }
+}
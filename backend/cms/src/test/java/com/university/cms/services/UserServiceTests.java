@@ -0,0 +1,127 @@
+package com.university.cms.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.cms.dto.BulkReport;
+import com.university.cms.dto.BulkReport.RowFailure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Bulk provisioning in chunks of three; every chunk commits on its own, as it does in production. */
+@DataJpaTest(properties = "cms.users.batch-size=3")
+@ActiveProfiles("test")
+@Import({UserService.class, UserKeyFilter.class, SessionTokenService.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserKeyFilter keyFilter;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void csvRowsAreWrittenAcrossChunksAndRejectionsCarryTheirLineNumbers() throws IOException {
+        BulkReport report = userService.provisionUsersCsv(new StringReader("""
+                email,username,password,admin
+                c1@csv.test,c1,pw,true
+                c2@csv.test,c2,pw
+
+                not-an-email,c3,pw
+                c4@csv.test,c4
+                C1@CSV.test,c5,pw
+                c6@csv.test,C2,pw
+                c7@csv.test,c7,pw
+                c8@csv.test,c8,pw
+                c9@csv.test,c9,pw
+                """));
+
+        assertThat(report.received()).isEqualTo(9);
+        assertThat(report.succeeded()).isEqualTo(5);
+        assertThat(report.failures()).containsExactly(
+                new RowFailure(5, "not-an-email", "A valid email of at most 255 characters is required"),
+                new RowFailure(6, "c4@csv.test,c4", "Expected email,username,password[,admin]"),
+                new RowFailure(7, "C1@CSV.test", "Duplicate email in this upload"),
+                new RowFailure(8, "c6@csv.test", "Duplicate username in this upload"));
+        assertThat(jdbc.queryForList("select username from users where email like '%@csv.test' order by id", String.class))
+                .containsExactly("c1", "c2", "c7", "c8", "c9");
+        assertThat(jdbc.queryForObject("select is_admin from users where username = 'c1'", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void possibleFilterHitsAreConfirmedAgainstTheDatabase() throws IOException {
+        userService.registerUser("taken@json.test", "taken", "pw", false);
+        jdbc.update("insert into users (email, username, password, is_admin) values ('gone@json.test', 'gone', 'pw', false)");
+        provisionJson("""
+                [{"email": "warmup@json.test", "username": "warmup", "password": "pw"}]
+                """); // the filters are built now, with gone@json.test in them
+        jdbc.update("delete from users where email = 'gone@json.test'");
+        assertThat(keyFilter.mightContainEmail("gone@json.test")).isTrue();
+
+        BulkReport report = provisionJson("""
+                [{"email": "gone@json.test", "username": "gone", "password": "pw"},
+                 {"email": "taken@json.test", "username": "other", "password": "pw"},
+                 {"email": "other@json.test", "username": "taken", "password": "pw"},
+                 {"email": "fresh@json.test", "username": "fresh", "password": "pw", "admin": true}]
+                """);
+
+        assertThat(report.received()).isEqualTo(4);
+        assertThat(report.succeeded()).isEqualTo(2);
+        assertThat(report.failures()).containsExactly(
+                new RowFailure(2, "taken@json.test", "Email already in use"),
+                new RowFailure(3, "other@json.test", "Username already in use"));
+        assertThat(jdbc.queryForList("select username from users where email in ('gone@json.test', 'fresh@json.test')",
+                String.class)).containsExactlyInAnyOrder("gone", "fresh");
+    }
+
+    @Test
+    void keysTakenBehindTheFiltersBackOffToOneRowAtATime() throws IOException {
+        provisionJson("""
+                [{"email": "warmup@race.test", "username": "warmup-race", "password": "pw"}]
+                """);
+        // registered elsewhere after the filters were built: only the unique keys catch these
+        jdbc.update("insert into users (email, username, password, is_admin) values ('elsewhere@race.test', 'elsewhere', 'pw', false)");
+        jdbc.update("insert into users (email, username, password, is_admin) values ('remote@race.test', 'remote', 'pw', false)");
+        assertThat(keyFilter.mightContainEmail("elsewhere@race.test")).isFalse();
+        assertThat(keyFilter.mightContainUsername("remote")).isFalse();
+
+        BulkReport report = provisionJson("""
+                [{"email": "a@race.test", "username": "a-race", "password": "pw"},
+                 {"email": "elsewhere@race.test", "username": "b-race", "password": "pw"},
+                 {"email": "c@race.test", "username": "c-race", "password": "pw"},
+                 {"email": "d@race.test", "username": "remote", "password": "pw"},
+                 {"email": "e@race.test", "username": "e-race", "password": "pw"}]
+                """);
+
+        assertThat(report.succeeded()).isEqualTo(3);
+        assertThat(report.failures()).containsExactly(
+                new RowFailure(2, "elsewhere@race.test", "Email already in use"),
+                new RowFailure(4, "d@race.test", "Username already in use"));
+        assertThat(jdbc.queryForList("select username from users where email like '%@race.test' order by username",
+                String.class)).containsExactly("a-race", "c-race", "e-race", "elsewhere", "remote", "warmup-race");
+    }
+
+    private BulkReport provisionJson(String json) throws IOException {
+        return userService.provisionUsers(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
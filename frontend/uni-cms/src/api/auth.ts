@@ -7,6 +7,7 @@ export interface User {
   // backend returns isAdmin; sometimes libs map to "admin"—support both:
   isAdmin?: boolean
   admin?: boolean
+  token?: string // session token from /auth/login
 }
 
 export async function login(email: string, password: string): Promise<User> {
@@ -5,4 +5,12 @@ const client = axios.create({
   headers: { 'Content-Type': 'application/json' },
 })
 
+// Send the session token issued at login (stored with the user by AuthContext)
+client.interceptors.request.use((config) => {
+  const raw = localStorage.getItem('uniUser')
+  const token = raw ? (JSON.parse(raw) as { token?: string }).token : undefined
+  if (token) config.headers.Authorization = `Bearer ${token}`
+  return config
+})
+
 export default client
@@ -15,6 +15,32 @@ export async function listCourses(): Promise<Course[]> {
   return data
 }
 
+/** courseId -> [capacity, enrolled] */
+export type SeatCounts = Record<number, [number, number]>
+
+type SeatUpdate = { seats: [number, number, number][]; removed: number[] }
+
+/**
+ * Live seat counts from /api/courses/availability/stream. The first message is a full snapshot,
+ * later ones only the courses that changed. EventSource reconnects (and re-snapshots) on its own.
+ * Returns a function that closes the stream.
+ */
+export function subscribeSeats(onChange: (apply: (prev: SeatCounts) => SeatCounts) => void): () => void {
+  const source = new EventSource('/api/courses/availability/stream')
+  const apply = (replace: boolean) => (e: MessageEvent) => {
+    const update = JSON.parse(e.data) as SeatUpdate
+    onChange(prev => {
+      const next: SeatCounts = replace ? {} : { ...prev }
+      for (const [id, capacity, enrolled] of update.seats) next[id] = [capacity, enrolled]
+      for (const id of update.removed) delete next[id]
+      return next
+    })
+  }
+  source.addEventListener('snapshot', apply(true) as EventListener)
+  source.addEventListener('seats', apply(false) as EventListener)
+  return () => source.close()
+}
+
 /** Admin-only helpers (wire up in Admin Panel later) */
 export async function createCourse(payload: Partial<Course>): Promise<Course> {
   const { data } = await client.post<Course>('/courses', payload)
@@ -12,8 +12,28 @@ export interface EnrollmentDto {
   marks?: number | null
 }
 
-export async function enroll(studentId: number, courseId: number): Promise<EnrollmentDto> {
-  const { data } = await client.post<EnrollmentDto>('/enrollments/enroll', { studentId, courseId })
+export interface WaitlistPosition {
+  entryId: number
+  studentId: number
+  courseId: number
+  position: number
+  joinedAt: string
+}
+
+export type EnrollOutcome =
+  | { enrolled: true; enrollment: EnrollmentDto }
+  | { enrolled: false; waitlisted: WaitlistPosition }
+
+/** A full course answers 202 with the student's waitlist position instead of an error */
+export async function enroll(studentId: number, courseId: number): Promise<EnrollOutcome> {
+  const res = await client.post('/enrollments/enroll', { studentId, courseId })
+  return res.status === 202
+    ? { enrolled: false, waitlisted: res.data as WaitlistPosition }
+    : { enrolled: true, enrollment: res.data as EnrollmentDto }
+}
+
+export async function getWaitlists(studentId: number): Promise<WaitlistPosition[]> {
+  const { data } = await client.get<WaitlistPosition[]>(`/students/${studentId}/waitlists`)
   return data
 }
 
@@ -30,3 +50,25 @@ export async function getEnrollmentsByCourse(courseId: number): Promise<Enrollme
   const { data } = await client.get<EnrollmentDto[]>(`/enrollments/course/${courseId}`)
   return data
 }
+
+export interface CatalogEntry {
+  id: number
+  code: string
+  title: string
+  credits: number
+  seatsLeft: number
+  enrolled: boolean
+}
+
+export interface StudentDashboard {
+  studentId: number
+  enrollments: EnrollmentDto[]
+  catalog: CatalogEntry[]
+  waitlists: WaitlistPosition[]
+}
+
+/** Enrollments, slim catalog and waitlist places in one request (replaces courses + enrollments on load) */
+export async function getDashboard(studentId: number): Promise<StudentDashboard> {
+  const { data } = await client.get<StudentDashboard>(`/students/${studentId}/dashboard`)
+  return data
+}
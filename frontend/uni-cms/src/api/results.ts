@@ -2,9 +2,9 @@ import client from './client'
 
 export interface Result {
   id: number
+  enrollmentId: number
   grade: string | null
   marks: number | null
-  // enrollment hidden by backend; not needed here
 }
 
 export async function updateResult(enrollmentId: number, grade: string | null, marks: number | null) {
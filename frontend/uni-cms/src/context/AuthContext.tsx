@@ -45,4 +45,5 @@ export interface User {
   username: string
   isAdmin?: boolean
   admin?: boolean
+  token?: string
 }
\ No newline at end of file
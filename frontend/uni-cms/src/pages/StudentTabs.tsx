@@ -2,8 +2,8 @@ import React, { useEffect, useMemo, useState } from 'react'
 import {
   Box, Card, CardContent, CardActions, Button, Typography, Grid, Chip, Snackbar, Alert, CircularProgress
 } from '@mui/material'
-import { listCourses, Course } from '../api/courses'
-import { enroll as enrollApi, getEnrollmentsByStudent, dropEnrollment, EnrollmentDto } from '../api/enrollments'
+import { subscribeSeats, SeatCounts } from '../api/courses'
+import { enroll as enrollApi, getDashboard, dropEnrollment, CatalogEntry, EnrollmentDto } from '../api/enrollments'
 import { useAuth } from '../context/AuthContext'
 
 const CourseCard: React.FC<{
@@ -24,17 +24,18 @@ type Props = { tabIndex: number }
 const StudentTabs: React.FC<Props> = ({ tabIndex }) => {
   const { user } = useAuth()
   const [loading, setLoading] = useState(true)
-  const [courses, setCourses] = useState<Course[]>([])
+  const [courses, setCourses] = useState<CatalogEntry[]>([])
   const [enrollments, setEnrollments] = useState<EnrollmentDto[]>([])
+  const [seats, setSeats] = useState<SeatCounts>({})
   const [toast, setToast] = useState<{type: 'success' | 'error', msg: string} | null>(null)
   const studentId = user!.id
 
   async function loadAll() {
     setLoading(true)
     try {
-      const [c, e] = await Promise.all([listCourses(), getEnrollmentsByStudent(studentId)])
-      setCourses(c.filter(x => x.active))
-      setEnrollments(e)
+      const dashboard = await getDashboard(studentId)
+      setCourses(dashboard.catalog)
+      setEnrollments(dashboard.enrollments)
     } catch (err) {
       setToast({ type: 'error', msg: 'Failed to load courses/enrollments' })
     } finally {
@@ -44,6 +45,9 @@ const StudentTabs: React.FC<Props> = ({ tabIndex }) => {
 
   useEffect(() => { loadAll() }, []) // eslint-disable-line
 
+  // seat counts are pushed by the server; no refetching the catalog to see them change
+  useEffect(() => subscribeSeats(setSeats), [])
+
   const myCourseIds = useMemo(() => new Set(enrollments.map(e => e.courseId)), [enrollments])
 
   const myCourses = useMemo(
@@ -55,7 +59,12 @@ const StudentTabs: React.FC<Props> = ({ tabIndex }) => {
 
   async function handleEnroll(courseId: number) {
     try {
-      const dto = await enrollApi(studentId, courseId)
+      const outcome = await enrollApi(studentId, courseId)
+      if (!outcome.enrolled) {
+        setToast({ type: 'success', msg: `Course is full: you are #${outcome.waitlisted.position} on the waitlist` })
+        return
+      }
+      const dto = outcome.enrollment
       setEnrollments(prev => [...prev, dto])
       setToast({ type: 'success', msg: `Enrolled to ${dto.courseCode}` })
     } catch (err: any) {
@@ -137,7 +146,17 @@ const StudentTabs: React.FC<Props> = ({ tabIndex }) => {
                   footer={
                     <Box sx={{ mt: 1, display: 'flex', gap: 1 }}>
                       <Chip size="small" label={`${c.credits} credits`} />
-                      <Chip size="small" label={`Cap ${c.capacity}`} />
+                      {(() => {
+                        // live count from the stream once it has arrived, the dashboard's until then
+                        const left = seats[c.id] ? Math.max(0, seats[c.id][0] - seats[c.id][1]) : c.seatsLeft
+                        return (
+                          <Chip
+                            size="small"
+                            color={left === 0 ? 'warning' : 'success'}
+                            label={left === 0 ? 'Full (waitlist)' : `${left} seats left`}
+                          />
+                        )
+                      })()}
                     </Box>
                   }
                   action={